@@ -0,0 +1,82 @@
+package model;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CardDeckBenchmark {
+    // Cards dealt in a typical round (see SimulationStatistics)
+    private static final int ROUND_CARDS_AMOUNT = 6;
+
+    private GameModel model;
+    private GameModel shoeModel;
+
+    @Setup
+    public void setUp() {
+        model = new GameModel(42L);
+
+        shoeModel = new GameModel(42L);
+        shoeModel.setShoe(GameModel.MAX_DECKS_AMOUNT, 0);
+    }
+
+    @Benchmark
+    public CardDeck createDeck() {
+        return CardDeckCreator.createDeck(GameModel.DECK_SIZE);
+    }
+
+    // The shuffle is lazy (a Fisher-Yates step per dealt card), so a shuffle alone only reseeds
+    // the engine: the whole deck is dealt to take the cost of the shuffle
+    @Benchmark
+    public int shuffleAndDealDeck() {
+        model.reload();
+        model.shuffleDeck();
+
+        int cardIndexes = 0;
+        while (!model.isCardDeckEmpty())
+            cardIndexes += model.getCardFromCardDeck().getIndex();
+
+        return cardIndexes;
+    }
+
+    // A round's hand from a freshly shuffled deck
+    @Benchmark
+    public int shuffleAndDealRound() {
+        model.reload();
+        model.shuffleDeck();
+
+        int cardIndexes = 0;
+        for (int i = 0; i < ROUND_CARDS_AMOUNT; i++)
+            cardIndexes += model.getCardFromCardDeck().getIndex();
+
+        return cardIndexes;
+    }
+
+    // The deck is refilled and shuffled once all the cards have been taken
+    @Benchmark
+    public Card getCardFromCardDeck() {
+        if (model.isCardDeckEmpty()) {
+            model.reload();
+            model.shuffleDeck();
+        }
+
+        return model.getCardFromCardDeck();
+    }
+
+    // Between two rounds the largest shoe only takes the dealt cards back
+    @Benchmark
+    public long dealRoundFromShoe() {
+        shoeModel.reload();
+        shoeModel.shuffleDeck();
+
+        for (int i = 0; i < ROUND_CARDS_AMOUNT; i++)
+            shoeModel.getCardFromCardDeck();
+
+        return shoeModel.getCardDeckComposition();
+    }
+}
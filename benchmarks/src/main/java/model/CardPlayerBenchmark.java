@@ -0,0 +1,44 @@
+package model;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CardPlayerBenchmark {
+    private Computer computer;
+
+    // The hand of 15 points makes the computer take its decision by the strategy
+    @Setup
+    public void setUp() {
+        GameModel model = new GameModel(42L);
+        model.appendPlayers();
+
+        computer = (Computer) model.getCardPlayer(0);
+        push(model, Card.indexOf(Suit.SPADES, CardName.TEN));
+        push(model, Card.indexOf(Suit.HEARTS, CardName.KING));
+        push(model, Card.indexOf(Suit.CLUBS, CardName.JACK));
+    }
+
+    private void push(GameModel model, int cardIndex) {
+        computer.getCardDeck().push(cardIndex, model.getRules().getCardWeight(cardIndex));
+    }
+
+    @Benchmark
+    public int getPointsAmount() {
+        return computer.getPointsAmount();
+    }
+
+    @Benchmark
+    public boolean analyzeTurn() {
+        computer.setPass(false);
+        computer.analyzeTurn();
+
+        return computer.hasPassed();
+    }
+}
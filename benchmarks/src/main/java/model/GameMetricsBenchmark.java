@@ -0,0 +1,42 @@
+package model;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// The cost of the metrics per round: the same round with the recording on and off
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GameMetricsBenchmark {
+    private Simulation simulation;
+    private Simulation simulationWithoutMetrics;
+    private SimulationStatistics statistics;
+
+    @Setup
+    public void setUp() {
+        simulation = new Simulation(0, 1, 42L);
+
+        simulationWithoutMetrics = new Simulation(0, 1, 42L);
+        simulationWithoutMetrics.setMetrics(null);
+
+        statistics = new SimulationStatistics();
+    }
+
+    @Benchmark
+    public SimulationStatistics playRoundWithMetrics() {
+        simulation.playRound(statistics);
+
+        return statistics;
+    }
+
+    @Benchmark
+    public SimulationStatistics playRoundWithoutMetrics() {
+        simulationWithoutMetrics.playRound(statistics);
+
+        return statistics;
+    }
+}
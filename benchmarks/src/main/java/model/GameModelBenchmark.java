@@ -0,0 +1,51 @@
+package model;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GameModelBenchmark {
+    private GameModel model;
+    private Simulation simulation;
+    private SimulationStatistics statistics;
+
+    // The round is played up to the moment when everybody has passed
+    @Setup
+    public void setUp() {
+        model = new GameModel(42L);
+        model.run();
+
+        for (CardPlayer cardPlayer : model.getCardPlayers()) {
+            model.dealCard(cardPlayer);
+            model.dealCard(cardPlayer);
+            cardPlayer.setPass(true);
+        }
+
+        simulation = new Simulation(0, 1, 42L);
+        statistics = new SimulationStatistics();
+    }
+
+    @Benchmark
+    public void checkWinners() {
+        model.checkWinners();
+    }
+
+    @Benchmark
+    public void getWinners(Blackhole blackhole) {
+        model.getWinners().forEach(blackhole::consume);
+    }
+
+    @Benchmark
+    public SimulationStatistics playRound() {
+        simulation.playRound(statistics);
+
+        return statistics;
+    }
+}
@@ -0,0 +1,82 @@
+package model;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ProbabilityEngineBenchmark {
+    private ProbabilityEngine engine;
+    private long composition;
+
+    // Rounds of a computer against the dealer with an eight-deck shoe: every round brings new compositions
+    private GameModel shoeModel;
+    private ProbabilityStrategy shoeStrategy;
+
+    @Setup
+    public void setUp() {
+        engine = new ProbabilityEngine();
+        composition = new GameModel(42L).getCardDeckComposition();
+
+        shoeStrategy = new ProbabilityStrategy();
+        shoeModel = new GameModel(42L);
+        shoeModel.setShoe(8, 0.75);
+        shoeModel.setComputerSeatsMask(0b10);
+        shoeModel.setComputerStrategy(shoeStrategy);
+    }
+
+    // The cache of a long multi-deck run must stay bounded (see ProbabilityEngine.MAX_CACHE_SIZE)
+    @TearDown(Level.Iteration)
+    public void checkCacheSize() {
+        int cacheSize = shoeStrategy.getEngine().getCacheSize();
+
+        if (cacheSize > ProbabilityEngine.MAX_CACHE_SIZE)
+            throw new IllegalStateException("The cache holds " + cacheSize + " entries, more than "
+                + ProbabilityEngine.MAX_CACHE_SIZE);
+    }
+
+    // Answered from the cache after the first invocation
+    @Benchmark
+    public double cachedBeatProbability() {
+        return engine.beatProbability(10, composition, 18);
+    }
+
+    @Benchmark
+    public boolean cachedShouldHit() {
+        return engine.shouldHit(14, composition, 17);
+    }
+
+    @Benchmark
+    public double uncachedBustProbability() {
+        engine.clearCache();
+
+        return engine.bustProbability(0, composition, GameModel.MAX_DEALER_TOTAL);
+    }
+
+    @Benchmark
+    public boolean multiDeckRound() {
+        shoeModel.reload();
+        shoeModel.run();
+
+        CardPlayer dealer = shoeModel.getCardPlayer(0);
+        CardPlayer computer = shoeModel.getCardPlayer(1);
+        shoeModel.dealCard(dealer);
+        shoeModel.dealCard(computer);
+
+        shoeModel.playComputerTurn(computer);
+
+        if (computer.hasPassed()) {
+            shoeModel.playComputerTurn(dealer);
+            shoeModel.checkWinners();
+        }
+        else
+            shoeModel.finishRound();
+
+        return computer.hasWon();
+    }
+}
@@ -0,0 +1,59 @@
+package model;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RoundJournalBenchmark {
+    private Path directory;
+    private RoundJournal journal;
+    private Simulation simulation;
+    private SimulationStatistics statistics;
+
+    @Setup
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("round-journal-benchmark");
+        journal = new RoundJournal(directory, "benchmark");
+
+        simulation = new Simulation(0, 1, 42L);
+        simulation.setJournal(journal);
+        statistics = new SimulationStatistics();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        journal.close();
+
+        try (Stream<Path> segments = Files.list(directory)) {
+            for (Path segment : (Iterable<Path>) segments::iterator)
+                Files.delete(segment);
+        }
+        Files.delete(directory);
+    }
+
+    // A single event on the hot path
+    @Benchmark
+    public RoundJournal recordEvent() {
+        journal.cardDealt(1, 0, true);
+
+        return journal;
+    }
+
+    // Compare with GameModelBenchmark.playRound (the same round without the journal)
+    @Benchmark
+    public SimulationStatistics playRoundWithJournal() {
+        simulation.playRound(statistics);
+
+        return statistics;
+    }
+}
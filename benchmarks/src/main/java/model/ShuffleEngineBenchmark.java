@@ -0,0 +1,37 @@
+package model;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// Shuffles per second of every engine: a new seed and the whole deck dealt (the cards are drawn lazily)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ShuffleEngineBenchmark {
+    @Param({ ShuffleEngines.SPLITTABLE, ShuffleEngines.XOSHIRO, ShuffleEngines.SECURE })
+    private String shuffleEngineName;
+
+    private GameModel model;
+
+    @Setup
+    public void setUp() {
+        model = new GameModel(42L);
+        model.setShuffleEngine(ShuffleEngines.create(shuffleEngineName));
+    }
+
+    @Benchmark
+    public long shuffleAndDealDeck() {
+        model.reload();
+        model.shuffleDeck();
+
+        long cards = 0;
+        while (!model.isCardDeckEmpty())
+            cards = cards * 31 + model.getCardFromCardDeck().getIndex();
+
+        return cards;
+    }
+}
@@ -0,0 +1,39 @@
+package model;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+//
+// Full simulated rounds per computer's strategy. Every strategy is measured in its own fork,
+// so the strategy call site stays monomorphic just like in a simulation run
+//
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class StrategyBenchmark {
+    @Param({ Strategies.HEURISTIC, Strategies.THRESHOLD, Strategies.TABLE, Strategies.PROBABILITY })
+    public String strategyName;
+
+    private Simulation simulation;
+    private SimulationStatistics statistics;
+
+    @Setup
+    public void setUp() {
+        simulation = new Simulation(0, 1, new SplittableRandom(42L),
+            new ThresholdStrategy(Simulation.DEFAULT_PLAYER_STAND_TOTAL), Strategies.create(strategyName));
+        statistics = new SimulationStatistics();
+    }
+
+    @Benchmark
+    public SimulationStatistics playRound() {
+        simulation.playRound(statistics);
+
+        return statistics;
+    }
+}
@@ -0,0 +1,62 @@
+package view;
+
+import model.Card;
+import org.openjdk.jmh.annotations.*;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+// A frame of the dealing animation: four cards in the air over a full table, the positions
+// are computed and the frame is painted from the back buffer (the GC profiler shows no allocation)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Thread)
+public class CardTableBenchmark {
+    private static final int WIDTH = 576;
+    private static final int HEIGHT = 500;
+
+    private CardTable cardTable;
+    private Graphics2D graphics;
+    private long startNanos;
+    private int frame;
+
+    @Setup
+    public void setUp() {
+        cardTable = new CardTable(4, true, false);
+        cardTable.setBounds(0, 0, WIDTH, HEIGHT);
+
+        for (int seat = 0; seat < 4; seat++)
+            for (int card = 0; card < 4; card++)
+                cardTable.addCard(seat, Card.valueOf(seat * 4 + card));
+
+        graphics = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_RGB).createGraphics();
+        cardTable.paintComponent(graphics);
+
+        startNanos = System.nanoTime();
+        for (int seat = 0; seat < 4; seat++)
+            cardTable.dealCard(seat, Card.valueOf(20 + seat));
+
+        // The frames are driven by the benchmark
+        cardTable.getFrameClock().stop();
+    }
+
+    @TearDown
+    public void tearDown() {
+        graphics.dispose();
+    }
+
+    // The frames go back and forth within the animation, so it never ends
+    @Benchmark
+    public CardTable renderFrame() {
+        long frameNanos = startNanos + CardTable.STAGGER_NANOS * 3 + (frame++ & 15) * 8_000_000L;
+
+        cardTable.advanceFrame(frameNanos);
+        cardTable.paintComponent(graphics);
+
+        return cardTable;
+    }
+}
@@ -1,12 +1,172 @@
 import controller.Controller;
+import model.GameMetrics;
 import model.GameModel;
+import model.ParallelSimulation;
+import model.ReplayEngine;
+import model.RoundJournal;
+import model.RuleSets;
+import model.Strategies;
+import model.StrategyTable;
+import server.GameServer;
+import server.LoadGenerator;
+import server.Protocol;
+import server.SessionManager;
 import view.Application;
+import view.AssetLoader;
 
 import javax.swing.*;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.file.Path;
 import java.util.Locale;
 
 public class Main {
-    public static void main(String[] args) {
+    private static final String SIMULATE_FLAG = "--simulate";
+    private static final String GENERATE_TABLE_FLAG = "--generate-strategy-table";
+    private static final String SERVER_FLAG = "--server";
+    private static final String TABLE_SERVER_FLAG = "--table-server";
+    private static final String LOAD_TEST_FLAG = "--load-test";
+    private static final String REPLAY_FLAG = "--replay";
+
+    // Usage: --simulate [roundsAmount] [playersAmount] [seed] [threadsAmount]
+    // (the computer's strategy is chosen with -Dtwentyone.strategy, see Strategies, the rules with -Dtwentyone.rules,
+    // the rounds are recorded to the journals in -Dtwentyone.journal=<directory>, see RoundJournal)
+    private static void simulate(String[] args) {
+        long roundsAmount = args.length > 1 ? Long.parseLong(args[1]) : 1_000_000L;
+        int playersAmount = args.length > 2 ? Integer.parseInt(args[2]) : 1;
+        long seed = args.length > 3 ? Long.parseLong(args[3]) : System.nanoTime();
+        int threadsAmount = args.length > 4
+            ? Integer.parseInt(args[4])
+            : Runtime.getRuntime().availableProcessors();
+
+        System.out.println("Seed: " + seed + ", threads: " + threadsAmount
+            + ", strategy: " + Strategies.getConfiguredName() + ", rules: " + RuleSets.getConfiguredName());
+        ParallelSimulation simulation = new ParallelSimulation(roundsAmount, playersAmount, seed, threadsAmount);
+
+        String journalDirectory = System.getProperty(RoundJournal.PROPERTY_NAME);
+        if (journalDirectory != null)
+            simulation.setJournalDirectory(Path.of(journalDirectory));
+
+        System.out.println(simulation.run());
+    }
+
+    // Usage: --generate-strategy-table [path]
+    private static void generateStrategyTable(String[] args) throws IOException {
+        String path = args.length > 1 ? args[1] : StrategyTable.DEFAULT_PATH;
+
+        long startTime = System.nanoTime();
+        StrategyTable.generate().save(path);
+
+        System.out.println("Strategy table is saved to " + path
+            + " (" + (System.nanoTime() - startTime) / 1_000_000 + " ms)");
+    }
+
+    // Usage: --replay <journalDirectory> [threadsAmount]
+    private static void replay(String[] args) throws IOException {
+        if (args.length < 2)
+            throw new IllegalArgumentException("Usage: " + REPLAY_FLAG + " <journalDirectory> [threadsAmount]");
+
+        Path directory = Path.of(args[1]);
+        int threadsAmount = args.length > 2
+            ? Integer.parseInt(args[2])
+            : Runtime.getRuntime().availableProcessors();
+
+        System.out.println(threadsAmount == 1
+            ? new ReplayEngine().replay(directory)
+            : ReplayEngine.replay(directory, threadsAmount));
+    }
+
+    // Usage: --server [port]
+    private static void runServer(String[] args) throws IOException {
+        int port = args.length > 1 ? Integer.parseInt(args[1]) : Protocol.DEFAULT_PORT;
+
+        System.out.println("Game server is listening on port " + port);
+        new GameServer(port).run();
+    }
+
+    // Usage: --table-server [port] [maxSessions] [idleTimeoutSeconds] [dealerDelayMillis]
+    private static void runTableServer(String[] args) throws IOException {
+        int port = args.length > 1 ? Integer.parseInt(args[1]) : Protocol.DEFAULT_PORT;
+        int maxSessions = args.length > 2 ? Integer.parseInt(args[2]) : 10_000;
+        long idleTimeoutSeconds = args.length > 3 ? Long.parseLong(args[3]) : 300L;
+        long dealerDelayMillis = args.length > 4 ? Long.parseLong(args[4]) : 0L;
+
+        SessionManager sessionManager = new SessionManager(
+            maxSessions, idleTimeoutSeconds * 1000, 1000, dealerDelayMillis);
+
+        // The report is printed every 10 seconds while there are any tables
+        Thread.ofVirtual().start(() -> {
+            try {
+                while (true) {
+                    Thread.sleep(10_000);
+
+                    if (sessionManager.getActiveSessions() > 0)
+                        System.out.println(sessionManager);
+                }
+            }
+            catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        System.out.println("Table server is listening on port " + port);
+        sessionManager.listen(new InetSocketAddress(port));
+    }
+
+    // Usage: --load-test [tablesAmount] [roundsPerTable] [port]
+    private static void runLoadTest(String[] args) throws IOException {
+        int tablesAmount = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+        long roundsPerTable = args.length > 2 ? Long.parseLong(args[2]) : 100L;
+        int port = args.length > 3 ? Integer.parseInt(args[3]) : Protocol.DEFAULT_PORT;
+
+        LoadGenerator loadGenerator = new LoadGenerator(
+            new InetSocketAddress("localhost", port), tablesAmount, roundsPerTable);
+
+        loadGenerator.run();
+        System.out.println(loadGenerator);
+    }
+
+    public static void main(String[] args) throws IOException {
+        long startTime = System.nanoTime();
+
+        // The outcomes are exposed through JMX and dumped with -Dtwentyone.metrics.file (see GameMetrics).
+        // The platform MBean server takes a while to start, so the game installs them in background
+        if (args.length > 0)
+            GameMetrics.install();
+        else
+            Thread.ofPlatform().daemon().name("metrics-install").start(GameMetrics::install);
+
+        if (args.length > 0 && args[0].equals(SIMULATE_FLAG)) {
+            simulate(args);
+            return;
+        }
+        if (args.length > 0 && args[0].equals(GENERATE_TABLE_FLAG)) {
+            generateStrategyTable(args);
+            return;
+        }
+        if (args.length > 0 && args[0].equals(REPLAY_FLAG)) {
+            replay(args);
+            return;
+        }
+        if (args.length > 0 && args[0].equals(SERVER_FLAG)) {
+            runServer(args);
+            return;
+        }
+        if (args.length > 0 && args[0].equals(TABLE_SERVER_FLAG)) {
+            runTableServer(args);
+            return;
+        }
+        if (args.length > 0 && args[0].equals(LOAD_TEST_FLAG)) {
+            runLoadTest(args);
+            return;
+        }
+
+        Locale eng = Locale.of("en", "US");
+        Locale rus = Locale.of("ru", "RU");
+
+        // The assets are loaded in background while the look and feel and the frame are set up
+        AssetLoader assetLoader = AssetLoader.start(startTime, eng, rus);
+
         try {
             UIManager.setLookAndFeel(OperatingSystem.getLookAndFeel());
         }
@@ -14,13 +174,28 @@ public class Main {
             e.printStackTrace();
         }
 
-        Locale eng = new Locale("en", "US");
-        Locale rus = new Locale("ru", "RU");
-
         SwingUtilities.invokeLater(() -> {
             try {
-                Application view = new Application(eng);
-                new Controller(new GameModel(), view);
+                Application view = new Application(assetLoader);
+                GameModel model = new GameModel();
+
+                String journalDirectory = System.getProperty(RoundJournal.PROPERTY_NAME);
+                if (journalDirectory != null) {
+                    RoundJournal journal = new RoundJournal(Path.of(journalDirectory), "game");
+                    model.setJournal(journal);
+
+                    // The application is closed with System.exit, the buffered events are written here
+                    Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                        try {
+                            journal.close();
+                        }
+                        catch (IOException e) {
+                            e.printStackTrace();
+                        }
+                    }));
+                }
+
+                new Controller(model, view);
 
                 view.setVisible(true);
             } catch (Exception e) {
@@ -3,26 +3,83 @@ package controller;
 import model.Card;
 import model.CardPlayer;
 import model.GameModel;
+import model.RoundJournal;
 import view.Application;
-import view.CardImage;
-import view.LayeredPane;
 
 import javax.swing.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
-import java.util.Vector;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+//
+// The players take the seats after the dealer's one in the order of -Dtwentyone.players,
+// e.g. "human,computer,human" (by default a single human). Their turns are taken by the seats:
+// a human one plays with the buttons, a computer one is played like the dealer's turn
+// (see DealerTurnEngine), and the dealer plays the last if anybody has stood
+//
+
+public final class Controller {
+    public static final String PLAYERS_PROPERTY_NAME = "twentyone.players";
+    public static final String HUMAN = "human";
+    public static final String COMPUTER = "computer";
+
+    // The seat 0 is the dealer's one (see GameModel.appendPlayers)
+    public static final int MAX_PLAYERS_AMOUNT = GameModel.MAX_PLAYERS_AMOUNT;
 
-public class Controller {
     private GameModel model;
     private Application view;
+    private final DealerTurnEngine dealerTurnEngine;
+
+    // The players of the next round (see setPlayers)
+    private int playersAmount;
 
     public Controller(GameModel model, Application view) {
+        this(model, view, new DealerTurnEngine());
+    }
+
+    public Controller(GameModel model, Application view, DealerTurnEngine dealerTurnEngine) {
         this.model = model;
         this.view = view;
+        this.dealerTurnEngine = dealerTurnEngine;
+
+        setPlayers(System.getProperty(PLAYERS_PROPERTY_NAME, HUMAN));
 
         this.view.addButtonClickListener(new ButtonClickListener());
     }
 
+    public int getPlayersAmount() {
+        return playersAmount;
+    }
+
+    // The players after the dealer, e.g. "human,computer", take their seats from the next round on
+    public void setPlayers(String players) throws IllegalArgumentException {
+        String[] kinds = players.split(",");
+
+        if (kinds.length > MAX_PLAYERS_AMOUNT)
+            throw new IllegalArgumentException(
+                "Error in argument 'players': more than " + MAX_PLAYERS_AMOUNT + " players.");
+
+        int computerSeatsMask = 0;
+
+        for (int i = 0; i < kinds.length; i++) {
+            switch (kinds[i].trim()) {
+                case HUMAN:
+                    break;
+                case COMPUTER:
+                    computerSeatsMask |= 1 << (i + 1);
+                    break;
+                default:
+                    throw new IllegalArgumentException(
+                        "Error in argument 'players': unknown player '" + kinds[i].trim() + "'.");
+            }
+        }
+
+        model.setComputerSeatsMask(computerSeatsMask);
+        playersAmount = kinds.length;
+    }
+
     public class ButtonClickListener implements ActionListener {
         public static final String NEW_GAME = "NEW_GAME";
         public static final String EXIT_GAME = "EXIT_GAME";
@@ -32,30 +89,67 @@ public class Controller {
         public static final String HOW_TO_PLAY = "HOW_TO_PLAY";
         public static final String ABOUT = "ABOUT";
 
-        private void pushCardToDeck(LayeredPane targetPane, Vector<Card> targetDeck) {
-            if (model.isCardDeckEmpty()) {
-                view.showEmptyDeckWarningDialog();
-                return;
-            }
+        // The seat whose turn it is, the seats after the last player's one stand for the dealer's turn
+        private int activeSeat;
+
+        // A computer's turn being shown (the dealer's one or a player's one): the model is owned
+        // by the engine's thread until the schedule is ready (see DealerTurnEngine.play)
+        private boolean isComputerTurnPlaying;
+        private int computerTurnSeat;
+        private CardPlayer computerTurnPlayer;
+        private DealerTurnEngine.Schedule computerTurn;
+        private int computerTurnStep;
+
+        // Shows the next card of the schedule on every tick
+        private final Timer computerTurnTimer = new Timer(0, actionEvent -> showComputerTurnStep());
 
-            Card card = model.getCardFromCardDeck();
-            ImageIcon cardImage = CardImage.getCardImage(card);
+        // The game is slow to fill the journal's buffer, so its events are synced by the timer as well
+        // (see RoundJournal.syncIfDue), but only while the EDT owns the model and its journal
+        private final Timer journalSyncTimer =
+            new Timer((int) RoundJournal.DEFAULT_SYNC_INTERVAL_MILLIS, actionEvent -> syncJournalIfDue());
 
-            int layerBoundX = targetPane.getBoundX();
-            int layerBoundY = targetPane.getBoundY();
+        public ButtonClickListener() {
+            journalSyncTimer.start();
+        }
+
+        // The model is away while the engine plays a computer's turn (until the schedule is ready)
+        private boolean isModelOwned() {
+            return !isComputerTurnPlaying || computerTurn != null;
+        }
+
+        private void syncJournalIfDue() {
+            RoundJournal journal = model.getJournal();
+
+            if (journal == null || !isModelOwned())
+                return;
 
-            JLabel label = new JLabel(cardImage);
-            label.setBounds(layerBoundX, layerBoundY,
-                cardImage.getIconWidth(), cardImage.getIconHeight());
+            try {
+                journal.syncIfDue();
+            }
+            catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
 
-            targetDeck.add(card); // send card to Model
-            targetPane.add(label); // send card to View
+        private void pushCardToDeck(int seat, CardPlayer targetPlayer) {
+            if (model.isCardDeckEmpty()) {
+                view.notifyEmptyDeck();
+                return;
+            }
 
-            if (layerBoundX >= LayeredPane.OFFSET)
-                targetPane.increaseWidth();
+            Card card = model.dealCard(targetPlayer); // send card to Model
+            view.getCardTable().dealCard(seat, card); // send card to View
         }
 
         private void invokeGameRoutine() {
+            if (isComputerTurnPlaying) {
+                // The model can't be used until the engine hands it back, it takes microseconds
+                if (!isModelOwned())
+                    return;
+
+                stopComputerTurn();
+            }
+
             if (view.containsInitPanel())
                 view.launchApplication();
 
@@ -78,60 +172,83 @@ public class Controller {
                 view.reloadPanes();
             }
 
-            model.run();
+            model.run(playersAmount);
 
-            pushCardToDeck(
-                view.getDealerCardsPane(),
-                model.getCardPlayer(0).getCardDeck()
-            );
+            List<CardPlayer> cardPlayers = model.getCardPlayers();
+            List<String> seatNames = new ArrayList<>(cardPlayers.size());
 
-            pushCardToDeck(
-                view.getPlayerCardsPane(),
-                model.getCardPlayer(1).getCardDeck()
-            );
+            for (CardPlayer cardPlayer : cardPlayers)
+                seatNames.add(cardPlayer.getPlayerName());
+
+            view.setSeatNames(seatNames);
+
+            // The seats of the table are in the order of the players (see GameModel.appendPlayers)
+            for (int seat = 0; seat < cardPlayers.size(); seat++)
+                pushCardToDeck(seat, cardPlayers.get(seat));
 
             refreshDynamicFields();
 
-            view.switchInteractButtons(true);
+            startSeat(1);
         }
 
         private void refreshDynamicFields() {
-            view.getDealerTotalPtsLabel().setText(
-                Integer.toString(model.getCardPlayer(0).getPointsAmount())
-            );
+            for (int seat = 0; seat < model.getCardPlayers().size(); seat++)
+                refreshSeat(seat);
 
-            view.getPlayerTotalPtsLabel().setText(
-                Integer.toString(model.getCardPlayer(1).getPointsAmount())
-            );
+            refreshCardDeckSize();
+        }
 
+        private void refreshSeat(int seat) {
+            view.getCardTable().setPoints(seat, Integer.toString(model.getCardPlayer(seat).getPointsAmount()));
+        }
+
+        private void refreshCardDeckSize() {
             view.getCardDeckSizeLabel().setText(
                 Integer.toString(model.getCardDeckSize())
             );
         }
 
-        // Apparently, this method is used here temporarily (may be it's not)
-        private void processUserResponse(int response) {
-            switch (response) {
-                // if user wants to play the game again
-                case 0:
-                    invokeGameRoutine();
-                    break;
-                // if user wants to quit
-                case 1:
-                    System.exit(0);
+        // A human's seat waits for the buttons, a computer's one is played at once
+        private void startSeat(int seat) {
+            activeSeat = seat;
+
+            if (seat >= model.getCardPlayers().size()) {
+                finishPlayersTurns();
+                return;
             }
-        }
 
-        private void winDialog(CardPlayer wonPlayer) {
-            int response = view.showWinGameDialog(wonPlayer.getPlayerName());
+            CardPlayer cardPlayer = model.getCardPlayer(seat);
+
+            if (cardPlayer.hasFinished()) {
+                startSeat(seat + 1);
+                return;
+            }
+
+            view.getCardTable().setActiveSeat(seat);
+
+            if (model.isComputerSeat(seat)) {
+                view.switchInteractButtons(false);
+                checkComputerCondition(seat);
+                return;
+            }
 
-            processUserResponse(response);
+            view.switchInteractButtons(true);
         }
 
-        private void exceedDialog(CardPlayer exceededPlayer) {
-            int response = view.showLoseGameDialog(exceededPlayer.getPlayerName());
+        // The dealer has nobody to play against when all the players have exceeded or won
+        private void finishPlayersTurns() {
+            view.switchInteractButtons(false);
+
+            for (int seat = 1; seat < model.getCardPlayers().size(); seat++) {
+                if (model.getCardPlayer(seat).hasPassed()) {
+                    view.getCardTable().setActiveSeat(0);
+                    checkComputerCondition(0);
+                    return;
+                }
+            }
 
-            processUserResponse(response);
+            view.getCardTable().setActiveSeat(-1);
+            model.finishRound();
         }
 
         private void exitDialog() {
@@ -145,59 +262,89 @@ public class Controller {
             }
         }
 
-        private void checkComputerCondition(CardPlayer computer) {
-            Timer timer = new Timer(650, null);
+        // The turn is played by the engine at once, then its cards are shown one per delay
+        // (and the result one more delay later) or all at once with no delay
+        private void checkComputerCondition(int seat) {
+            isComputerTurnPlaying = true;
+            computerTurnSeat = seat;
+            computerTurnPlayer = model.getCardPlayer(seat);
+            computerTurn = null;
+
+            dealerTurnEngine.play(model, computerTurnPlayer).whenComplete((schedule, exception) -> {
+                if (exception != null) {
+                    isComputerTurnPlaying = false;
+                    exception.printStackTrace();
+                    return;
+                }
+
+                computerTurn = schedule;
+                computerTurnStep = 0;
 
-            timer.addActionListener(actionEvent -> {
-                computer.analyzeTurn();
+                // The last step may start the next computer's seat, which replaces the schedule,
+                // so only this schedule's cards and its result are shown here
+                if (schedule.getDelayMillis() == 0) {
+                    for (int step = 0; step <= schedule.size() && computerTurn == schedule; step++)
+                        showComputerTurnStep();
+                    return;
+                }
 
-                if (computer.hasPassed() || computer.hasWon() || computer.hasExceeded()) {
-                    timer.stop();
+                computerTurnTimer.setInitialDelay((int) schedule.getDelayMillis());
+                computerTurnTimer.setDelay((int) schedule.getDelayMillis());
+                computerTurnTimer.restart();
+            });
+        }
 
-                    if (computer.hasPassed())
-                        view.showComputerPassedDialog(computer.getPlayerName());
+        private void showComputerTurnStep() {
+            if (computerTurnStep < computerTurn.size()) {
+                view.getCardTable().dealCard(computerTurnSeat, computerTurn.getCard(computerTurnStep));
+                view.getCardTable().setPoints(computerTurnSeat,
+                    Integer.toString(computerTurn.getTotal(computerTurnStep)));
+                view.getCardDeckSizeLabel().setText(Integer.toString(computerTurn.getDeckSize(computerTurnStep)));
 
-                    else if (computer.hasExceeded())
-                        view.showComputerExceededDialog(computer.getPlayerName());
+                computerTurnStep++;
+                return;
+            }
 
-                    else if (computer.hasWon())
-                        view.showComputerWinDialog(computer.getPlayerName());
-                }
-                else
-                    addCardFromDeck(0);
+            stopComputerTurn();
 
-                getGameResults();
-            });
+            if (computerTurnPlayer.hasPassed())
+                view.notifyComputerPassed(computerTurnPlayer.getPlayerName());
+            else if (computerTurnPlayer.hasExceeded())
+                view.notifyComputerExceeded(computerTurnPlayer.getPlayerName());
+            else if (computerTurnPlayer.hasWon())
+                view.notifyComputerWon(computerTurnPlayer.getPlayerName());
 
-            timer.start();
+            // The dealer's turn is the last one of the round
+            if (computerTurnSeat != 0) {
+                startSeat(computerTurnSeat + 1);
+                return;
+            }
+
+            view.getCardTable().setActiveSeat(-1);
+            getGameResults();
+        }
+
+        private void stopComputerTurn() {
+            computerTurnTimer.stop();
+            isComputerTurnPlaying = false;
         }
 
         private void checkCondition(CardPlayer cardPlayer) {
             cardPlayer.analyzeTurn();
 
-            if (cardPlayer.hasExceeded() || cardPlayer.hasWon())
-                view.switchInteractButtons(false);
-
+            // The next game is started with the new game's button
             if (cardPlayer.hasExceeded())
-                exceedDialog(cardPlayer);
+                view.notifyLose(cardPlayer.getPlayerName());
             else if (cardPlayer.hasWon())
-                winDialog(cardPlayer);
-
-            getGameResults();
+                view.notifyWin(cardPlayer.getPlayerName());
         }
 
-        private void addCardFromDeck(int playerIndex) {
-            // lame logic (temporarily):
-            if (playerIndex == 0)
-                pushCardToDeck(
-                    view.getDealerCardsPane(),
-                    model.getCardPlayer(playerIndex).getCardDeck());
-            else
-                pushCardToDeck(
-                    view.getPlayerCardsPane(),
-                    model.getCardPlayer(playerIndex).getCardDeck());
+        private void addCardFromDeck(int seat) {
+            // The seats of the table are in the order of the players (see GameModel.appendPlayers)
+            pushCardToDeck(seat, model.getCardPlayer(seat));
 
-            refreshDynamicFields();
+            refreshSeat(seat);
+            refreshCardDeckSize();
         }
 
         private void getGameResults() {
@@ -206,12 +353,12 @@ public class Controller {
 
             model.checkWinners();
             if (model.winnersAmount() == 0) {
-                view.showNoWinnersDialog();
+                view.notifyNoWinners();
                 return;
             }
 
             model.getWinners().forEach(cardPlayer ->
-                view.showWinnerDialog(cardPlayer.getPlayerName(), Integer.toString(cardPlayer.getPointsAmount()))
+                view.notifyWinner(cardPlayer.getPlayerName(), Integer.toString(cardPlayer.getPointsAmount()))
             );
         }
 
@@ -230,13 +377,16 @@ public class Controller {
                     System.exit(0);
                     break;
                 case GET_CARD:
-                    addCardFromDeck(1);
-                    checkCondition(model.getCardPlayer(1));
+                    addCardFromDeck(activeSeat);
+                    checkCondition(model.getCardPlayer(activeSeat));
+
+                    if (model.getCardPlayer(activeSeat).hasFinished())
+                        startSeat(activeSeat + 1);
                     break;
                 case PASS_ROUND:
                     view.switchInteractButtons(false);
-                    model.getCardPlayer(1).setPass(true);
-                    checkComputerCondition(model.getCardPlayer(0));
+                    model.getCardPlayer(activeSeat).setPass(true);
+                    startSeat(activeSeat + 1);
                     break;
                 case HOW_TO_PLAY:
 //                    view.showHowToPlayDialog();
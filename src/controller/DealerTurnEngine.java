@@ -0,0 +1,133 @@
+package controller;
+
+import model.Card;
+import model.CardPlayer;
+import model.GameModel;
+import model.Hand;
+
+import javax.swing.*;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+//
+// The dealer's whole turn is played at once on a background thread: the model is handed over
+// to the thread and back to the EDT (see GameModel.bindToCurrentThread), and the view gets
+// a ready schedule of the dealt cards. So the model's work doesn't wait for the animation,
+// the pace of the cards is cosmetic:
+// -Dtwentyone.dealer.delay=<milliseconds per card> (0 shows the whole turn at once)
+//
+
+public final class DealerTurnEngine {
+    public static final String DELAY_PROPERTY_NAME = "twentyone.dealer.delay";
+    public static final long DEFAULT_DELAY_MILLIS = 650;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "dealer-turn");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private long delayMillis;
+
+    public DealerTurnEngine() {
+        this(Long.getLong(DELAY_PROPERTY_NAME, DEFAULT_DELAY_MILLIS));
+    }
+
+    public DealerTurnEngine(long delayMillis) throws IllegalArgumentException {
+        setDelayMillis(delayMillis);
+    }
+
+    public long getDelayMillis() {
+        return delayMillis;
+    }
+
+    public void setDelayMillis(long delayMillis) throws IllegalArgumentException {
+        if (delayMillis < 0)
+            throw new IllegalArgumentException("Error in argument 'delayMillis': negative value.");
+
+        this.delayMillis = delayMillis;
+    }
+
+    // The dealt cards with the dealer's total and the deck's size after every one of them
+    public static final class Schedule {
+        private final List<Card> cards;
+        private final int[] totals;
+        private final int[] deckSizes;
+        private final long delayMillis;
+
+        private Schedule(List<Card> cards, int[] totals, int[] deckSizes, long delayMillis) {
+            this.cards = cards;
+            this.totals = totals;
+            this.deckSizes = deckSizes;
+            this.delayMillis = delayMillis;
+        }
+
+        public int size() {
+            return cards.size();
+        }
+
+        public Card getCard(int step) {
+            return cards.get(step);
+        }
+
+        public int getTotal(int step) {
+            return totals[step];
+        }
+
+        public int getDeckSize(int step) {
+            return deckSizes[step];
+        }
+
+        public long getDelayMillis() {
+            return delayMillis;
+        }
+    }
+
+    // Must be called on the EDT, which owns the model. The model must not be used until the result
+    // is completed: it's completed on the EDT, which owns the model again
+    public CompletableFuture<Schedule> play(GameModel model, CardPlayer dealer) {
+        long scheduleDelayMillis = delayMillis;
+
+        return CompletableFuture
+            .supplyAsync(() -> {
+                model.bindToCurrentThread();
+
+                Hand hand = dealer.getCardDeck();
+                int firstCard = hand.size();
+                int total = dealer.getPointsAmount();
+
+                model.playComputerTurn(dealer);
+
+                int cardsAmount = hand.size() - firstCard;
+                List<Card> cards = new ArrayList<>(cardsAmount);
+                int[] totals = new int[cardsAmount];
+                int[] deckSizes = new int[cardsAmount];
+
+                for (int step = 0; step < cardsAmount; step++) {
+                    Card card = hand.get(firstCard + step);
+                    total += model.getRules().getCardWeight(card.getIndex());
+
+                    cards.add(card);
+                    totals[step] = total;
+                    deckSizes[step] = model.getCardDeckSize() + cardsAmount - step - 1;
+                }
+
+                return new Schedule(Collections.unmodifiableList(cards), totals, deckSizes, scheduleDelayMillis);
+            }, executor)
+            .handleAsync((schedule, exception) -> {
+                model.bindToCurrentThread();
+
+                if (exception != null)
+                    throw exception instanceof CompletionException
+                        ? (CompletionException) exception
+                        : new CompletionException(exception);
+
+                return schedule;
+            }, SwingUtilities::invokeLater);
+    }
+}
@@ -63,10 +63,37 @@ enum CardName {
     }
 }
 
+//
+// Every card is encoded as a compact index: cardName.ordinal() * SUITS_AMOUNT + suit.ordinal().
+// There is exactly one Card instance per index (flyweight), the decks only keep the indices.
+//
+
 public class Card {
+    public static final int SUITS_AMOUNT = Suit.values().length;
+    public static final int CARD_NAMES_AMOUNT = CardName.values().length;
+    public static final int CARDS_AMOUNT = SUITS_AMOUNT * CARD_NAMES_AMOUNT;
+
     private final Suit suit;
     private final CardName cardName;
-    private int cardWeight;
+    private final int cardWeight;
+    private final int index;
+
+    // Lazy holder: CardDeckCreator initializes its weight table using the constants above
+    private static final class Flyweights {
+        private static final Card[] CARDS = CardDeckCreator.createCards();
+    }
+
+    public static Card valueOf(int index) throws IndexOutOfBoundsException {
+        return Flyweights.CARDS[index];
+    }
+
+    static int indexOf(Suit suit, CardName cardName) {
+        return cardName.ordinal() * SUITS_AMOUNT + suit.ordinal();
+    }
+
+    static boolean isAce(int index) {
+        return index / SUITS_AMOUNT == CardName.ACE.ordinal();
+    }
 
     public String getSuitUnicodeSymbol() {
         return suit.getUnicodeSymbol();
@@ -84,6 +111,10 @@ public class Card {
         return cardWeight;
     }
 
+    public int getIndex() {
+        return index;
+    }
+
     Card(Suit suit, CardName cardName, int cardWeight) throws NullPointerException, IllegalArgumentException {
         if (suit == null || cardName == null)
             throw new NullPointerException(
@@ -97,5 +128,6 @@ public class Card {
         this.suit = suit;
         this.cardName = cardName;
         this.cardWeight = cardWeight;
+        this.index = indexOf(suit, cardName);
     }
 }
\ No newline at end of file
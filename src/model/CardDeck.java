@@ -0,0 +1,159 @@
+package model;
+
+import java.util.AbstractList;
+import java.util.EmptyStackException;
+
+//
+// Primitive deck (or shoe of several decks): the cards are kept as their indices (see Card)
+// in a byte array, the top of the deck is the last element.
+// The deck is exposed as a read-only list of Card flyweights.
+// Besides, the deck keeps its composition: the amounts of the cards by their names packed into a long.
+//
+// A shuffled deck is dealt lazily: every card is drawn by one step of Fisher-Yates
+// (a random card of the rest is swapped to the top), so a card costs one random number
+// and nothing is shuffled up front. The steps give the same cards as a full shuffle
+// from the same stream would. The dealt cards stay behind the top with their swaps logged,
+// so restoring the deck only takes back the dealt cards
+//
+
+public class CardDeck extends AbstractList<Card> {
+    public static final int COMPOSITION_BITS = 6; // per card name, i.e. up to 63 cards of the same name
+
+    private static final long COMPOSITION_MASK = (1L << COMPOSITION_BITS) - 1;
+
+    private final byte[] cards;
+    private int size;
+    private long composition;
+
+    // Every card of the array (dealt ones included) and its composition
+    private int filledSize;
+    private long filledComposition;
+
+    // Position of the card swapped to the top by the draw at the deck's size (see restore)
+    private final short[] swaps;
+
+    // Null until the deck is shuffled: the cards are dealt from the top in their order
+    private ShuffleEngine shuffleEngine;
+
+    CardDeck(int capacity) {
+        cards = new byte[capacity];
+        swaps = new short[capacity];
+        size = 0;
+        composition = 0;
+    }
+
+    private static int compositionShift(int cardIndex) {
+        return cardIndex / Card.SUITS_AMOUNT * COMPOSITION_BITS;
+    }
+
+    // The amount of the cards with the given name (CardName's ordinal) in the packed composition
+    public static int countOf(long composition, int cardNameIndex) {
+        return (int) (composition >>> (cardNameIndex * COMPOSITION_BITS) & COMPOSITION_MASK);
+    }
+
+    public static long packComposition(int[] cardNameCounts) throws IllegalArgumentException {
+        if (cardNameCounts.length != Card.CARD_NAMES_AMOUNT)
+            throw new IllegalArgumentException("Error in argument 'cardNameCounts': invalid length.");
+
+        long composition = 0;
+        for (int i = 0; i < cardNameCounts.length; i++) {
+            if (cardNameCounts[i] < 0 || cardNameCounts[i] > COMPOSITION_MASK)
+                throw new IllegalArgumentException("Error in argument 'cardNameCounts': invalid amount.");
+
+            composition |= (long) cardNameCounts[i] << (i * COMPOSITION_BITS);
+        }
+
+        return composition;
+    }
+
+    public long getComposition() {
+        return composition;
+    }
+
+    public int getCapacity() {
+        return cards.length;
+    }
+
+    @Override
+    public Card get(int index) throws IndexOutOfBoundsException {
+        if (index < 0 || index >= size)
+            throw new IndexOutOfBoundsException("get: invalid argument 'index'");
+
+        return Card.valueOf(cards[index]);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    void empty() {
+        size = filledSize = 0;
+        composition = filledComposition = 0;
+        shuffleEngine = null;
+    }
+
+    void push(int cardIndex) throws IllegalStateException {
+        if (size == cards.length)
+            throw new IllegalStateException("push: the deck is full");
+        if (size != filledSize)
+            throw new IllegalStateException("push: the deck has dealt cards, it must be restored first");
+
+        cards[size++] = (byte) cardIndex;
+        composition += 1L << compositionShift(cardIndex);
+
+        filledSize = size;
+        filledComposition = composition;
+    }
+
+    int pop() throws EmptyStackException {
+        if (size == 0)
+            throw new EmptyStackException();
+
+        int top = size - 1;
+
+        if (shuffleEngine != null) {
+            int position = shuffleEngine.nextInt(size);
+
+            byte card = cards[top];
+            cards[top] = cards[position];
+            cards[position] = card;
+
+            swaps[top] = (short) position;
+        }
+        else
+            swaps[top] = (short) top;
+
+        int cardIndex = cards[top];
+        size = top;
+        composition -= 1L << compositionShift(cardIndex);
+
+        return cardIndex;
+    }
+
+    // Takes the dealt cards back in the reverse order of the draws,
+    // so the deck gets its order of the last fill (and is not shuffled anymore)
+    void restore() {
+        for (int top = size; top < filledSize; top++) {
+            int position = swaps[top];
+
+            byte card = cards[top];
+            cards[top] = cards[position];
+            cards[position] = card;
+        }
+
+        size = filledSize;
+        composition = filledComposition;
+        shuffleEngine = null;
+    }
+
+    // Lazy Fisher-Yates: the rest of the deck is shuffled card by card when the cards are dealt
+    void shuffle(ShuffleEngine shuffleEngine) {
+        this.shuffleEngine = shuffleEngine;
+    }
+}
@@ -1,47 +1,48 @@
 package model;
 
-import java.util.Collection;
-import java.util.HashMap;
-import java.util.Map;
-import java.util.Stack;
-
 final class CardDeckCreator {
-    private static final Map<CardName, Integer> WEIGHT_MAP_TWENTY_ONE = new HashMap<>();
-
-    static {
-        WEIGHT_MAP_TWENTY_ONE.put(CardName.JACK, 2);
-        WEIGHT_MAP_TWENTY_ONE.put(CardName.QUEEN, 3);
-        WEIGHT_MAP_TWENTY_ONE.put(CardName.KING, 4);
-        WEIGHT_MAP_TWENTY_ONE.put(CardName.SIX, 6);
-        WEIGHT_MAP_TWENTY_ONE.put(CardName.SEVEN, 7);
-        WEIGHT_MAP_TWENTY_ONE.put(CardName.EIGHT, 8);
-        WEIGHT_MAP_TWENTY_ONE.put(CardName.NINE, 9);
-        WEIGHT_MAP_TWENTY_ONE.put(CardName.TEN, 10);
-        WEIGHT_MAP_TWENTY_ONE.put(CardName.ACE, 11);
-    }
+    private CardDeckCreator() {}
+
+    // Flyweight instances for all of the card indices, with the weights of the classic rules
+    static Card[] createCards() {
+        RuleSet rules = RuleSets.getTwentyOne();
+        Card[] cards = new Card[Card.CARDS_AMOUNT];
+
+        for (CardName cardName: CardName.values())
+            for (Suit suit: Suit.values()) {
+                int cardIndex = Card.indexOf(suit, cardName);
+                cards[cardIndex] = new Card(suit, cardName, rules.getCardWeight(cardIndex));
+            }
 
-    static Collection<Integer> getWeights21() {
-        return WEIGHT_MAP_TWENTY_ONE.values();
+        return cards;
     }
 
-    static Stack<Card> createDeck(int deckSize) throws IllegalArgumentException {
-        if (deckSize != GameModel.DECK_SIZE) {
+    static CardDeck createDeck(int deckSize) throws IllegalArgumentException {
+        if (deckSize <= 0 || deckSize % GameModel.DECK_SIZE != 0)
             throw new IllegalArgumentException("There is no suitable deck size for the specified number.");
-            // This is probably a blank for further improvements (e.g. different deck size)
-        }
 
-        Stack<Card> deck = new Stack<>();
+        return createShoe(RuleSets.getTwentyOne(), deckSize / GameModel.DECK_SIZE);
+    }
 
-        for (CardName cardName: CardName.values())
-            for (Suit suit: Suit.values()) {
-                try {
-                    deck.add(new Card(suit, cardName, WEIGHT_MAP_TWENTY_ONE.get(cardName)));
-                }
-                catch (NullPointerException | IllegalArgumentException e) {
-                    e.printStackTrace();
-                }
-            }
+    // Shoe of several full decks of the rule set
+    static CardDeck createShoe(RuleSet rules, int decksAmount) throws IllegalArgumentException {
+        if (decksAmount < 1 || decksAmount > GameModel.MAX_DECKS_AMOUNT)
+            throw new IllegalArgumentException("Error in argument 'decksAmount': it must be from 1 to " +
+                    GameModel.MAX_DECKS_AMOUNT);
+
+        byte[] deckCards = rules.getDeckCards();
+        CardDeck deck = new CardDeck(decksAmount * deckCards.length);
+
+        for (int deckNumber = 0; deckNumber < decksAmount; deckNumber++)
+            for (byte cardIndex : deckCards)
+                deck.push(cardIndex);
 
         return deck;
     }
-}
\ No newline at end of file
+
+    // Puts all the cards back into the deck (in the initial order) without any allocation.
+    // The deck only takes its dealt cards back, so it costs the cards dealt instead of the shoe size
+    static void fillDeck(CardDeck deck) {
+        deck.restore();
+    }
+}
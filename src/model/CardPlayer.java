@@ -1,10 +1,10 @@
 package model;
 
-import java.util.Vector;
-
 public abstract class CardPlayer {
-    private Vector<Card> cardDeck;
+    private final Hand cardDeck;
     private String playerName;
+    private GameModel model; // the table the player sits at
+    private int seat;
 
     private boolean isDealer;
     private boolean hasPassed;
@@ -15,21 +15,33 @@ public abstract class CardPlayer {
         if (playerName == null || playerName.isEmpty())
             this.playerName = this.getClass().getName();
 
-        cardDeck = new Vector<>();
+        cardDeck = new Hand();
         this.playerName = playerName;
         isDealer = hasPassed = hasExceeded = hasWon = false;
     }
 
-    public Vector<Card> getCardDeck() {
+    GameModel getModel() {
+        return model;
+    }
+
+    void setModel(GameModel model) {
+        this.model = model;
+    }
+
+    int getSeat() {
+        return seat;
+    }
+
+    void setSeat(int seat) {
+        this.seat = seat;
+    }
+
+    public Hand getCardDeck() {
         return cardDeck;
     }
 
     public int getPointsAmount() {
-        int pointsAmount = 0;
-        for (Card card : cardDeck)
-            pointsAmount += card.getCardWeight();
-
-        return pointsAmount;
+        return cardDeck.getPointsAmount();
     }
 
     public String getPlayerName() {
@@ -49,7 +61,12 @@ public abstract class CardPlayer {
     }
 
     public void setPass(boolean state) {
+        boolean hadFinished = hasFinished();
         hasPassed = state;
+        notifyModel(hadFinished, hasWon);
+
+        if (state && model != null && model.getJournal() != null)
+            model.getJournal().stand(seat);
     }
 
     public boolean hasExceeded() {
@@ -57,7 +74,12 @@ public abstract class CardPlayer {
     }
 
     void setExceed(boolean state) {
+        boolean hadFinished = hasFinished();
         hasExceeded = state;
+        notifyModel(hadFinished, hasWon);
+
+        if (state && model != null && model.getJournal() != null)
+            model.getJournal().bust(seat);
     }
 
     public boolean hasWon() {
@@ -65,7 +87,22 @@ public abstract class CardPlayer {
     }
 
     void setWin(boolean state) {
+        boolean hadFinished = hasFinished();
+        boolean hadWon = hasWon;
         hasWon = state;
+        notifyModel(hadFinished, hadWon);
+    }
+
+    // The model counts the finished players and the winners of its table (see GameModel.isAllPlayersFinished)
+    private void notifyModel(boolean hadFinished, boolean hadWon) {
+        if (model != null)
+            model.playerStateChanged(this, hadFinished, hadWon);
+    }
+
+    // Prepares the player for the next round (the seat is kept by the model)
+    void reset() {
+        cardDeck.reset();
+        hasPassed = hasExceeded = hasWon = false;
     }
 
     public boolean hasFinished() {
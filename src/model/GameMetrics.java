@@ -0,0 +1,369 @@
+package model;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Collections;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+//
+// Outcome statistics of all the models of the JVM: lock-free counters and histograms (LongAdder).
+// The models don't touch them on every round: a model accumulates its rounds in plain fields
+// (see RoundMetrics) and adds them here in batches, so the metrics are always on.
+// The batches are registered here (weakly), so the pending rounds of the idle models are flushed
+// every FLUSH_INTERVAL_SECONDS once the metrics are installed, and before every dump.
+// They are exposed as an MXBean (see OBJECT_NAME) and can be dumped to a file periodically:
+// -Dtwentyone.metrics.file=<path> [-Dtwentyone.metrics.interval=<seconds>]
+//
+
+public final class GameMetrics implements GameMetricsMXBean {
+    public static final String OBJECT_NAME = "twentyone:type=GameMetrics";
+    public static final String FILE_PROPERTY_NAME = "twentyone.metrics.file";
+    public static final String INTERVAL_PROPERTY_NAME = "twentyone.metrics.interval";
+    public static final long DEFAULT_DUMP_INTERVAL_SECONDS = 10;
+    public static final long FLUSH_INTERVAL_SECONDS = 1;
+
+    // Counters:
+    static final int ROUNDS = 0;
+    static final int HANDS = 1;
+    static final int PLAYER_WINS = 2;
+    static final int PLAYER_LOSSES = 3;
+    static final int PLAYER_BUSTS = 4;
+    static final int PUSHES = 5;
+    static final int DEALER_WINS = 6;
+    static final int DEALER_BUSTS = 7;
+    static final int ROUNDS_WITHOUT_WINNERS = 8;
+    static final int CARDS_DEALT = 9;
+    static final int COUNTERS_AMOUNT = 10;
+
+    // Histograms' buckets: totals, cards per hand and round durations by powers of two of the nanoseconds
+    static final int POINTS_BUCKETS = RuleSet.MAX_SCORE_LIMIT + RuleSet.MAX_WEIGHT_LIMIT + 1;
+    static final int HAND_SIZE_BUCKETS = RuleSet.MAX_HAND_SIZE + 1;
+    static final int DURATION_BUCKETS = Long.SIZE;
+
+    private static final GameMetrics INSTANCE = new GameMetrics();
+
+    private final LongAdder[] counters = createAdders(COUNTERS_AMOUNT);
+    private final LongAdder[] playerPoints = createAdders(POINTS_BUCKETS);
+    private final LongAdder[] dealerPoints = createAdders(POINTS_BUCKETS);
+    private final LongAdder[] handSizes = createAdders(HAND_SIZE_BUCKETS);
+    private final LongAdder[] roundDurations = createAdders(DURATION_BUCKETS);
+
+    // The batches of the models, the collected models are dropped
+    private final Set<RoundMetrics> batches = Collections.newSetFromMap(new WeakHashMap<>());
+
+    private ScheduledExecutorService dumpExecutor;
+    private ScheduledExecutorService flushExecutor;
+
+    // Every model records to the shared instance by default (see GameModel.setMetrics)
+    public static GameMetrics getInstance() {
+        return INSTANCE;
+    }
+
+    private static LongAdder[] createAdders(int amount) {
+        LongAdder[] adders = new LongAdder[amount];
+        for (int i = 0; i < amount; i++)
+            adders[i] = new LongAdder();
+
+        return adders;
+    }
+
+    private static long[] snapshot(LongAdder[] adders) {
+        long[] values = new long[adders.length];
+        for (int i = 0; i < adders.length; i++)
+            values[i] = adders[i].sum();
+
+        return values;
+    }
+
+    static int durationBucketOf(long nanos) {
+        return Long.SIZE - Long.numberOfLeadingZeros(Math.max(nanos, 0)) - (nanos > 0 ? 1 : 0);
+    }
+
+    void register(RoundMetrics batch) {
+        synchronized (batches) {
+            batches.add(batch);
+        }
+    }
+
+    // Adds the pending rounds of all the models (e.g. of the idle ones, or before the final dump)
+    public void flushBatches() {
+        RoundMetrics[] registeredBatches;
+
+        synchronized (batches) {
+            registeredBatches = batches.toArray(new RoundMetrics[0]);
+        }
+
+        for (RoundMetrics batch : registeredBatches)
+            batch.flush();
+    }
+
+    // Adds the batch of a model (see RoundMetrics), the zero cells are skipped
+    void add(long[] counters, long[] playerPoints, long[] dealerPoints, long[] handSizes, long[] roundDurations) {
+        addAll(this.counters, counters);
+        addAll(this.playerPoints, playerPoints);
+        addAll(this.dealerPoints, dealerPoints);
+        addAll(this.handSizes, handSizes);
+        addAll(this.roundDurations, roundDurations);
+    }
+
+    private static void addAll(LongAdder[] adders, long[] values) {
+        for (int i = 0; i < values.length; i++)
+            if (values[i] != 0)
+                adders[i].add(values[i]);
+    }
+
+    @Override
+    public long getRounds() {
+        return counters[ROUNDS].sum();
+    }
+
+    @Override
+    public long getHands() {
+        return counters[HANDS].sum();
+    }
+
+    @Override
+    public long getPlayerWins() {
+        return counters[PLAYER_WINS].sum();
+    }
+
+    @Override
+    public long getPlayerLosses() {
+        return counters[PLAYER_LOSSES].sum();
+    }
+
+    @Override
+    public long getPlayerBusts() {
+        return counters[PLAYER_BUSTS].sum();
+    }
+
+    @Override
+    public long getPushes() {
+        return counters[PUSHES].sum();
+    }
+
+    @Override
+    public long getDealerWins() {
+        return counters[DEALER_WINS].sum();
+    }
+
+    @Override
+    public long getDealerBusts() {
+        return counters[DEALER_BUSTS].sum();
+    }
+
+    @Override
+    public long getRoundsWithoutWinners() {
+        return counters[ROUNDS_WITHOUT_WINNERS].sum();
+    }
+
+    @Override
+    public long getCardsDealt() {
+        return counters[CARDS_DEALT].sum();
+    }
+
+    @Override
+    public double getPlayerWinRate() {
+        long hands = getHands();
+
+        return hands == 0 ? 0 : (double) getPlayerWins() / hands;
+    }
+
+    @Override
+    public double getMeanCardsPerHand() {
+        long hands = 0;
+        long cards = 0;
+
+        for (int i = 0; i < HAND_SIZE_BUCKETS; i++) {
+            long amount = handSizes[i].sum();
+            hands += amount;
+            cards += amount * i;
+        }
+
+        return hands == 0 ? 0 : (double) cards / hands;
+    }
+
+    @Override
+    public long[] getPlayerPointsDistribution() {
+        return snapshot(playerPoints);
+    }
+
+    @Override
+    public long[] getDealerPointsDistribution() {
+        return snapshot(dealerPoints);
+    }
+
+    @Override
+    public long[] getCardsPerHandDistribution() {
+        return snapshot(handSizes);
+    }
+
+    @Override
+    public long getRoundDurationP50Nanos() {
+        return getRoundDurationPercentile(50);
+    }
+
+    @Override
+    public long getRoundDurationP99Nanos() {
+        return getRoundDurationPercentile(99);
+    }
+
+    // Returns 0 when nothing has been recorded yet
+    public long getRoundDurationPercentile(double percentile) throws IllegalArgumentException {
+        if (percentile < 0.0 || percentile > 100.0)
+            throw new IllegalArgumentException("Error in argument 'percentile': out of [0, 100].");
+
+        long[] durations = snapshot(roundDurations);
+        long count = 0;
+        for (long amount : durations)
+            count += amount;
+
+        if (count == 0)
+            return 0;
+
+        long rank = Math.max(1, (long) Math.ceil(count * percentile / 100.0));
+        long seen = 0;
+
+        for (int i = 0; i < DURATION_BUCKETS; i++) {
+            seen += durations[i];
+
+            if (seen >= rank)
+                return i == DURATION_BUCKETS - 1 ? Long.MAX_VALUE : (2L << i) - 1;
+        }
+
+        return Long.MAX_VALUE;
+    }
+
+    // Not atomic: the rounds which are being added meanwhile may be partially kept
+    @Override
+    public void reset() {
+        for (LongAdder[] adders : new LongAdder[][] { counters, playerPoints, dealerPoints, handSizes, roundDurations })
+            for (LongAdder adder : adders)
+                adder.reset();
+    }
+
+    private static void appendDistribution(StringBuilder report, String name, long[] values) {
+        report.append(name).append(" =");
+
+        for (int i = 0; i < values.length; i++)
+            if (values[i] != 0)
+                report.append(' ').append(i).append(':').append(values[i]);
+
+        report.append('\n');
+    }
+
+    // "key = value" lines, the distributions are "value:amount" pairs
+    public String getReport() {
+        StringBuilder report = new StringBuilder();
+
+        report.append("rounds = ").append(getRounds()).append('\n')
+            .append("hands = ").append(getHands()).append('\n')
+            .append("cards-dealt = ").append(getCardsDealt()).append('\n')
+            .append("player-wins = ").append(getPlayerWins()).append('\n')
+            .append("player-losses = ").append(getPlayerLosses()).append('\n')
+            .append("player-busts = ").append(getPlayerBusts()).append('\n')
+            .append("pushes = ").append(getPushes()).append('\n')
+            .append("dealer-wins = ").append(getDealerWins()).append('\n')
+            .append("dealer-busts = ").append(getDealerBusts()).append('\n')
+            .append("rounds-without-winners = ").append(getRoundsWithoutWinners()).append('\n')
+            .append(String.format("player-win-rate = %.4f%n", getPlayerWinRate()))
+            .append(String.format("mean-cards-per-hand = %.3f%n", getMeanCardsPerHand()))
+            .append("round-duration-p50-nanos = ").append(getRoundDurationP50Nanos()).append('\n')
+            .append("round-duration-p99-nanos = ").append(getRoundDurationP99Nanos()).append('\n');
+
+        appendDistribution(report, "player-points", getPlayerPointsDistribution());
+        appendDistribution(report, "dealer-points", getDealerPointsDistribution());
+        appendDistribution(report, "cards-per-hand", getCardsPerHandDistribution());
+
+        return report.toString();
+    }
+
+    // The report replaces the file at once, so the readers never see a partial one
+    public void dump(Path file) throws IOException {
+        Path temporaryFile = file.resolveSibling(file.getFileName() + ".tmp");
+
+        Files.writeString(temporaryFile, getReport(), StandardCharsets.UTF_8);
+        Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    // Dumps the report every interval and once more at the JVM's shutdown.
+    // A failed dump is only logged: an exception would cancel the next ones silently
+    public synchronized void startDump(Path file, long intervalSeconds) throws IllegalArgumentException {
+        if (intervalSeconds <= 0)
+            throw new IllegalArgumentException("Error in argument 'intervalSeconds': non-positive value.");
+        if (dumpExecutor != null)
+            throw new IllegalStateException("startDump: the metrics are being dumped already");
+
+        dumpExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "metrics-dump");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        Runnable task = () -> {
+            try {
+                flushBatches();
+                dump(file);
+            }
+            catch (IOException e) {
+                e.printStackTrace();
+            }
+        };
+
+        dumpExecutor.scheduleAtFixedRate(task, intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+        Runtime.getRuntime().addShutdownHook(new Thread(task, "metrics-final-dump"));
+    }
+
+    // Flushes the batches every FLUSH_INTERVAL_SECONDS, so the idle models' rounds reach the MXBean
+    public synchronized void startFlush() {
+        if (flushExecutor != null)
+            return;
+
+        flushExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "metrics-flush");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        flushExecutor.scheduleAtFixedRate(this::flushBatches,
+            FLUSH_INTERVAL_SECONDS, FLUSH_INTERVAL_SECONDS, TimeUnit.SECONDS);
+    }
+
+    public void registerMBean() throws IllegalStateException {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+
+        try {
+            server.registerMBean(this, new ObjectName(OBJECT_NAME));
+        }
+        catch (InstanceAlreadyExistsException e) {
+            // Registered already
+        }
+        catch (JMException e) {
+            throw new IllegalStateException("The metrics can't be registered", e);
+        }
+    }
+
+    // The MXBean and the dump configured with the system properties
+    public static void install() throws IllegalArgumentException {
+        INSTANCE.registerMBean();
+        INSTANCE.startFlush();
+
+        String file = System.getProperty(FILE_PROPERTY_NAME);
+        if (file != null)
+            INSTANCE.startDump(Path.of(file),
+                Long.getLong(INTERVAL_PROPERTY_NAME, DEFAULT_DUMP_INTERVAL_SECONDS));
+    }
+}
@@ -0,0 +1,43 @@
+package model;
+
+// Management interface of GameMetrics (see GameMetrics.OBJECT_NAME)
+public interface GameMetricsMXBean {
+    long getRounds();
+
+    long getHands();
+
+    long getPlayerWins();
+
+    long getPlayerLosses();
+
+    long getPlayerBusts();
+
+    long getPushes();
+
+    long getDealerWins();
+
+    long getDealerBusts();
+
+    long getRoundsWithoutWinners();
+
+    long getCardsDealt();
+
+    double getPlayerWinRate();
+
+    double getMeanCardsPerHand();
+
+    // Amounts of the final hands by their totals
+    long[] getPlayerPointsDistribution();
+
+    long[] getDealerPointsDistribution();
+
+    // Amounts of the hands by their cards
+    long[] getCardsPerHandDistribution();
+
+    // Upper bounds of the percentiles (the durations are bucketed by powers of two)
+    long getRoundDurationP50Nanos();
+
+    long getRoundDurationP99Nanos();
+
+    void reset();
+}
@@ -3,43 +3,270 @@ package model;
 import java.util.*;
 import java.util.stream.Stream;
 
-public class GameModel {
+//
+// The constants are the ones of the classic rules (see RuleSets.getTwentyOne),
+// the game itself follows the model's rule set
+//
+
+public final class GameModel {
     public static final int DECK_SIZE = 36;
+    public static final int MAX_DECKS_AMOUNT = 8;
+
+    // The dealer's seat and six players' ones: the table of the game (see view.CardTable),
+    // of the simulation and of the replay is the same
+    public static final int MAX_SEATS_AMOUNT = 7;
+    public static final int MAX_PLAYERS_AMOUNT = MAX_SEATS_AMOUNT - 1;
+    public static final double MAX_PENETRATION = 0.9;
+
+    // Shoe of the models: -Dtwentyone.shoe=<decks>[:<penetration>], e.g. 6:0.75
+    // (a single deck refilled every round by default, see setShoe)
+    public static final String SHOE_PROPERTY_NAME = "twentyone.shoe";
     public static final int MAX_SCORE = 21;
     public static final int MAX_DEALER_TOTAL = 17;
     public static final int MAX_WEIGHT;
     public static final int MIN_WEIGHT;
 
-    static {
-        MAX_WEIGHT = Collections.max(
-            CardDeckCreator.getWeights21(),
-            Comparator.comparingInt(Integer::intValue)
-        );
+    private static final String CONFINEMENT_ERROR = "GameModel is used outside of its owner thread";
 
-        MIN_WEIGHT = Collections.min(
-            CardDeckCreator.getWeights21(),
-            Comparator.comparingInt(Integer::intValue)
-        );
+    static {
+        MAX_WEIGHT = RuleSets.getTwentyOne().getMaxWeight();
+        MIN_WEIGHT = RuleSets.getTwentyOne().getMinWeight();
     }
 
-    private Stack<Card> cardDeck;
-    private Vector<CardPlayer> cardPlayers;
+    // The model owns its random generator, so that
+    // every model (e.g. per simulation thread) gets an independent stream
+    private final SplittableRandom random;
+
+    // Decision policy of the computers at the table
+    private Strategy computerStrategy;
+
+    // The rule set's weights by the card indices are kept at hand for dealCard
+    private RuleSet rules;
+    private byte[] cardWeights;
+
+    // The shoe is refilled when the penetration (the dealt part of it) is reached,
+    // penetration 0 refills it every round
+    private CardDeck cardDeck;
+    private int decksAmount;
+    private double penetration;
+    private boolean isNewShoe;
+
+    private final ArrayList<CardPlayer> cardPlayers;
+    private final List<CardPlayer> cardPlayersView;
     private boolean isRun;
 
+    // Players of the previous rounds by their seats, they are reused by appendPlayers
+    private final ArrayList<CardPlayer> seats;
+
+    // The players' seats taken by computers, as bits (the dealer's seat 0 is a computer's one always)
+    private int computerSeatsMask;
+
+    // Kept by the players' state changes (see playerStateChanged), so that the checks
+    // made after every action don't scan the table
+    private int finishedAmount;
+    private int winnersAmount;
+    private int winnersMask;
+
+    // The best total among the players who have stood (without exceeding), what the dealer plays against
+    private int standingTotal;
+
+    // Every round's deck is shuffled with its own seed, so the round can be replayed from the journal
+    private ShuffleEngine shuffleEngine;
+    private long shuffleSeed;
+    private RoundJournal journal;
+
+    // Every round is recorded to the metrics once, when it's finished (see finishRound)
+    private RoundMetrics metrics;
+    private boolean isRoundOpen;
+    private long roundStartNanos;
+
+    // Thread confinement: the model and its players are not synchronized,
+    // so they must be used by one thread at a time (the EDT, a simulation or a session thread).
+    // The contract is checked with assertions (when the JVM is run with -ea)
+    private Thread ownerThread;
+
     public GameModel() throws IllegalArgumentException {
-        cardDeck = CardDeckCreator.createDeck(DECK_SIZE);
-        cardPlayers = new Vector<>();
+        this(new SplittableRandom());
+    }
+
+    // Seeded model is used for reproducible games (e.g. in Simulation)
+    public GameModel(long seed) throws IllegalArgumentException {
+        this(new SplittableRandom(seed));
+    }
+
+    GameModel(SplittableRandom random) throws IllegalArgumentException {
+        this.random = random;
+        this.computerStrategy = Strategies.fromConfiguration();
+        this.shuffleEngine = ShuffleEngines.fromConfiguration();
+
+        this.rules = RuleSets.fromConfiguration();
+        this.cardWeights = rules.getCardWeights();
+
+        setShoe(System.getProperty(SHOE_PROPERTY_NAME, "1"));
+        metrics = new RoundMetrics(GameMetrics.getInstance());
+        cardPlayers = new ArrayList<>();
+        cardPlayersView = Collections.unmodifiableList(cardPlayers);
+        seats = new ArrayList<>();
         isRun = false;
+        ownerThread = Thread.currentThread();
+    }
+
+    // Hands the model over to the current thread (the previous owner must not use it anymore)
+    public void bindToCurrentThread() {
+        ownerThread = Thread.currentThread();
+    }
+
+    SplittableRandom getRandom() {
+        return random;
+    }
+
+    public Strategy getComputerStrategy() {
+        return computerStrategy;
+    }
+
+    public void setComputerStrategy(Strategy computerStrategy) throws NullPointerException {
+        if (computerStrategy == null)
+            throw new NullPointerException("setComputerStrategy: null argument 'computerStrategy'");
+
+        this.computerStrategy = computerStrategy;
+    }
+
+    public RoundJournal getJournal() {
+        return journal;
+    }
+
+    // The events of the next rounds are recorded to the journal, null turns the recording off
+    public void setJournal(RoundJournal journal) {
+        this.journal = journal;
+    }
+
+    public GameMetrics getMetrics() {
+        return metrics != null ? metrics.getTarget() : null;
+    }
+
+    // The next rounds are recorded to the metrics, null turns the recording off
+    public void setMetrics(GameMetrics metrics) {
+        flushMetrics();
+        this.metrics = metrics != null ? new RoundMetrics(metrics) : null;
+    }
+
+    // Adds the rounds which are accumulated by the model to its metrics (e.g. at the end of a simulation)
+    public void flushMetrics() {
+        if (metrics != null)
+            metrics.flush();
+    }
+
+    public ShuffleEngine getShuffleEngine() {
+        return shuffleEngine;
+    }
+
+    public void setShuffleEngine(ShuffleEngine shuffleEngine) throws NullPointerException {
+        if (shuffleEngine == null)
+            throw new NullPointerException("setShuffleEngine: null argument 'shuffleEngine'");
+
+        this.shuffleEngine = shuffleEngine;
+    }
+
+    public long getShuffleSeed() {
+        return shuffleSeed;
+    }
+
+    public RuleSet getRules() {
+        return rules;
+    }
+
+    // The shoe is rebuilt for the rule set's deck, the next round starts with it
+    public void setRules(RuleSet rules) throws NullPointerException {
+        assert isConfined() : CONFINEMENT_ERROR;
+
+        if (rules == null)
+            throw new NullPointerException("setRules: null argument 'rules'");
+
+        this.rules = rules;
+        this.cardWeights = rules.getCardWeights();
+
+        cardDeck = CardDeckCreator.createShoe(rules, decksAmount);
+        isNewShoe = true;
+        clearPlayers();
+    }
+
+    public int getDecksAmount() {
+        return decksAmount;
+    }
+
+    public double getPenetration() {
+        return penetration;
+    }
+
+    // Amount of the cards in the full shoe
+    public int getShoeSize() {
+        return cardDeck.getCapacity();
+    }
+
+    // The shoe is reallocated only when the amount of the decks changes
+    public void setShoe(int decksAmount, double penetration) throws IllegalArgumentException {
+        if (decksAmount < 1 || decksAmount > MAX_DECKS_AMOUNT)
+            throw new IllegalArgumentException("Error in argument 'decksAmount': it must be from 1 to " +
+                    MAX_DECKS_AMOUNT);
+        if (!(penetration >= 0 && penetration <= MAX_PENETRATION))
+            throw new IllegalArgumentException("Error in argument 'penetration': it must be from 0 to " +
+                    MAX_PENETRATION);
+
+        if (cardDeck == null || decksAmount != this.decksAmount) {
+            cardDeck = CardDeckCreator.createShoe(rules, decksAmount);
+            isNewShoe = true;
+        }
+
+        this.decksAmount = decksAmount;
+        this.penetration = penetration;
+    }
+
+    // <decks>[:<penetration>], as in the system property
+    public void setShoe(String configuration) throws IllegalArgumentException {
+        String[] parts = configuration.split(":", 2);
+
+        try {
+            setShoe(Integer.parseInt(parts[0].trim()), parts.length > 1 ? Double.parseDouble(parts[1].trim()) : 0);
+        }
+        catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Error in argument 'configuration': " + configuration, e);
+        }
+    }
+
+    public boolean isShoeExhausted() {
+        int dealtAmount = cardDeck.getCapacity() - cardDeck.size();
+
+        return cardDeck.isEmpty() || dealtAmount >= penetration * cardDeck.getCapacity();
+    }
+
+    private boolean isConfined() {
+        return ownerThread == Thread.currentThread();
     }
 
     public Card getCardFromCardDeck() throws EmptyStackException {
+        assert isConfined() : CONFINEMENT_ERROR;
+
         if (cardDeck.isEmpty())
             throw new EmptyStackException();
 
-        return cardDeck.pop();
+        return Card.valueOf(cardDeck.pop());
+    }
+
+    public Card dealCard(CardPlayer cardPlayer) throws EmptyStackException {
+        assert isConfined() : CONFINEMENT_ERROR;
+
+        int cardIndex = cardDeck.pop();
+        Hand hand = cardPlayer.getCardDeck();
+
+        if (journal != null)
+            journal.cardDealt(cardPlayer.getSeat(), cardIndex, !hand.isEmpty());
+
+        hand.push(cardIndex, cardWeights[cardIndex]);
+
+        return Card.valueOf(cardIndex);
     }
 
-    public Stack<Card> getCardDeck() {
+    public List<Card> getCardDeck() {
         return cardDeck;
     }
 
@@ -47,12 +274,17 @@ public class GameModel {
         return cardDeck.size();
     }
 
+    // Amounts of the remaining cards by their names (see CardDeck)
+    public long getCardDeckComposition() {
+        return cardDeck.getComposition();
+    }
+
     public boolean isCardDeckEmpty() {
         return cardDeck.isEmpty();
     }
 
-    public Vector<CardPlayer> getCardPlayers() {
-        return cardPlayers;
+    public List<CardPlayer> getCardPlayers() {
+        return cardPlayersView;
     }
 
     public CardPlayer getCardPlayer(int playerIndex) throws IndexOutOfBoundsException {
@@ -60,26 +292,53 @@ public class GameModel {
             throw new IndexOutOfBoundsException(
                 "getCardPlayer: invalid argument 'playerIndex'");
 
-        return cardPlayers.elementAt(playerIndex);
+        return cardPlayers.get(playerIndex);
     }
 
     public boolean isRun() {
         return isRun;
     }
 
+    // The shoe is refilled only when it is exhausted, otherwise the next round goes on with it
     public void reload() {
-        cardDeck = CardDeckCreator.createDeck(DECK_SIZE);
+        assert isConfined() : CONFINEMENT_ERROR;
+
+        finishRound();
+
+        if (isShoeExhausted()) {
+            CardDeckCreator.fillDeck(cardDeck);
+            isNewShoe = true;
+        }
+
+        clearPlayers();
+    }
+
+    private void clearPlayers() {
         cardPlayers.clear();
 
-        // poor logic because there is no way to make
-        // abstract static method in CardPlayer class
-        // (should probably use interface for that purpose)
-        Computer.resetPlayerIndex();
-        Player.resetPlayerIndex();
+        finishedAmount = 0;
+        winnersAmount = 0;
+        winnersMask = 0;
+        standingTotal = 0;
+    }
+
+    // Starts a recorded round (see ReplayEngine): a new shoe of the given amount of the decks,
+    // or the rest of the current one when the amount is 0
+    void replayRound(int playersAmount, int decksAmount, long shuffleSeed) throws IllegalArgumentException {
+        assert isConfined() : CONFINEMENT_ERROR;
+
+        if (decksAmount > 0) {
+            setShoe(decksAmount, penetration);
+            CardDeckCreator.fillDeck(cardDeck);
+            isNewShoe = true;
+        }
+
+        clearPlayers();
+        run(playersAmount, shuffleSeed);
     }
 
     public long winnersAmount() {
-        return getWinners().count();
+        return winnersAmount;
     }
 
     public Stream<CardPlayer> getWinners() {
@@ -87,40 +346,232 @@ public class GameModel {
     }
 
     public void shuffleDeck() {
-        Collections.shuffle(cardDeck);
+        shuffleDeck(shuffleEngine.nextSeed(random));
+    }
+
+    private void shuffleDeck(long shuffleSeed) {
+        assert isConfined() : CONFINEMENT_ERROR;
+
+        this.shuffleSeed = shuffleSeed;
+        shuffleEngine.reseed(shuffleSeed);
+        cardDeck.shuffle(shuffleEngine);
+    }
+
+    public int getComputerSeatsMask() {
+        return computerSeatsMask;
+    }
+
+    // The players' seats which are taken by computers from the next round on, e.g. 0b110
+    // for a human and two computers after the dealer (see appendPlayers)
+    public void setComputerSeatsMask(int computerSeatsMask) throws IllegalArgumentException {
+        if (computerSeatsMask < 0)
+            throw new IllegalArgumentException("Error in argument 'computerSeatsMask': negative value.");
+
+        computerSeatsMask &= ~1;
+
+        // The players are named by the layout, so they aren't reused once it changes
+        if (computerSeatsMask != this.computerSeatsMask)
+            seats.clear();
+
+        this.computerSeatsMask = computerSeatsMask;
+    }
+
+    public boolean isComputerSeat(int seat) {
+        return seat == 0 || (computerSeatsMask & 1 << seat) != 0;
     }
 
     public void appendPlayers() {
-        cardPlayers.add(new Computer());
-        cardPlayers.add(new Player());
-        cardPlayers.elementAt(0).setDealer(true);
+        appendPlayers(1);
+    }
+
+    // The table is seated anew: the dealer (computer) always takes the first place at the table,
+    // the players take the next ones, the seats of computerSeatsMask are taken by computers.
+    // Players are numbered per model, so several models can be used concurrently
+    public void appendPlayers(int playersAmount) throws IllegalArgumentException {
+        assert isConfined() : CONFINEMENT_ERROR;
+
+        if (playersAmount <= 0 || playersAmount > MAX_PLAYERS_AMOUNT)
+            throw new IllegalArgumentException("appendPlayers: invalid argument 'playersAmount'");
+
+        clearPlayers();
+
+        if (!(seatOf(0) instanceof Computer))
+            seats.set(0, new Computer("Computer 1"));
+        takeSeat(0).setDealer(true);
+
+        int humansAmount = 0;
+        int computersAmount = 1;
+
+        for (int i = 1; i <= playersAmount; i++) {
+            if (isComputerSeat(i)) {
+                computersAmount++;
+
+                if (!(seatOf(i) instanceof Computer))
+                    seats.set(i, new Computer("Computer " + computersAmount));
+            }
+            else {
+                humansAmount++;
+
+                if (!(seatOf(i) instanceof Player))
+                    seats.set(i, new Player("Player " + humansAmount));
+            }
+
+            takeSeat(i).setDealer(false);
+        }
+    }
+
+    private CardPlayer seatOf(int seatIndex) {
+        while (seats.size() <= seatIndex)
+            seats.add(null);
+
+        return seats.get(seatIndex);
+    }
+
+    private CardPlayer takeSeat(int seatIndex) {
+        CardPlayer cardPlayer = seats.get(seatIndex);
+        cardPlayer.reset();
+        cardPlayer.setModel(this);
+        cardPlayer.setSeat(seatIndex);
+        cardPlayers.add(cardPlayer);
+
+        return cardPlayer;
     }
 
     public void run() {
-        shuffleDeck();
-        appendPlayers();
+        run(1);
+    }
+
+    public void run(int playersAmount) throws IllegalArgumentException {
+        run(playersAmount, shuffleEngine.nextSeed(random));
+    }
+
+    // The round is started with the given seed, as it was recorded (see ReplayEngine)
+    void run(int playersAmount, long shuffleSeed) throws IllegalArgumentException {
+        finishRound();
+
+        shuffleDeck(shuffleSeed);
+        appendPlayers(playersAmount);
         isRun = true;
+
+        isRoundOpen = true;
+        roundStartNanos = metrics != null && metrics.shouldTimeRound() ? System.nanoTime() : -1;
+
+        if (journal != null)
+            journal.roundStarted(rules.getName(), cardPlayers.size(), shuffleEngine.getId(),
+                isNewShoe ? decksAmount : 0, shuffleSeed);
+
+        isNewShoe = false;
+    }
+
+    // Headless equivalent of the dealer's turn in Controller:
+    // the computer keeps taking cards until it decides to stop
+    public void playComputerTurn(CardPlayer computer) {
+        assert isConfined() : CONFINEMENT_ERROR;
+
+        computer.analyzeTurn();
+
+        while (!computer.hasFinished()) {
+            if (cardDeck.isEmpty()) {
+                computer.setPass(true);
+                break;
+            }
+
+            dealCard(computer);
+            computer.analyzeTurn();
+        }
+    }
+
+    // What the player's decision depends on (see StrategyTable): for the dealer it is
+    // the best total among the players who have passed, for anybody else it is the dealer's up-card weight
+    // (both are kept by the table, see playerStateChanged and appendPlayers)
+    int getOpponentValue(CardPlayer cardPlayer) {
+        if (cardPlayer.isDealer())
+            return standingTotal;
+
+        // The dealer takes the first place at the table
+        if (cardPlayers.isEmpty() || !cardPlayers.get(0).isDealer())
+            return 0;
+
+        Hand dealerHand = cardPlayers.get(0).getCardDeck();
+
+        return dealerHand.isEmpty() ? 0 : cardWeights[dealerHand.get(0).getIndex()];
     }
 
     public boolean isAllPlayersFinished() {
-        for (CardPlayer cardPlayer : cardPlayers)
-            if (!cardPlayer.hasFinished())
-                return false;
+        return finishedAmount == cardPlayers.size();
+    }
+
+    // Called by a seated player whose state has changed (see CardPlayer), keeps the counters of the table
+    void playerStateChanged(CardPlayer cardPlayer, boolean hadFinished, boolean hadWon) {
+        int seat = cardPlayer.getSeat();
+
+        // The players of the previous rounds are not at the table anymore
+        if (seat >= cardPlayers.size() || cardPlayers.get(seat) != cardPlayer)
+            return;
 
-        return true;
+        if (cardPlayer.hasFinished() != hadFinished)
+            finishedAmount += hadFinished ? -1 : 1;
+
+        if (cardPlayer.hasWon() != hadWon) {
+            winnersAmount += hadWon ? -1 : 1;
+            winnersMask ^= 1 << seat;
+        }
+
+        // A player who has stood takes no more cards, so the total is final
+        if (seat != 0 && cardPlayer.hasPassed() && !cardPlayer.hasExceeded())
+            standingTotal = Math.max(standingTotal, cardPlayer.getPointsAmount());
     }
 
+    // Once per round: the players who have stood are compared with the dealer
     public void checkWinners() throws NullPointerException {
-        CardPlayer dealer = cardPlayers.stream()
-            .filter(CardPlayer::isDealer)
-            .findFirst().orElseThrow(NullPointerException::new);
+        assert isConfined() : CONFINEMENT_ERROR;
+
+        // The dealer takes the first place at the table (see appendPlayers)
+        if (cardPlayers.isEmpty() || !cardPlayers.get(0).isDealer())
+            throw new NullPointerException("checkWinners: there is no dealer at the table");
+
+        CardPlayer dealer = cardPlayers.get(0);
+
+        for (int seat = 1; seat < cardPlayers.size(); seat++) {
+            CardPlayer cardPlayer = cardPlayers.get(seat);
 
-        for (CardPlayer cardPlayer : cardPlayers)
-            if (!cardPlayer.isDealer() && !cardPlayer.hasWon() && !cardPlayer.hasExceeded())
+            if (!cardPlayer.hasWon() && !cardPlayer.hasExceeded())
                 if (dealer.hasExceeded()
                     || cardPlayer.getPointsAmount() > dealer.getPointsAmount())
                     cardPlayer.setWin(true);
                 else if (dealer.getPointsAmount() > cardPlayer.getPointsAmount())
                     dealer.setWin(true);
+        }
+
+        if (journal != null)
+            journal.winners(winnersMask());
+
+        finishRound();
+    }
+
+    // The outcome of the round is final: checkWinners calls it, so must the callers which end
+    // the round without checkWinners (e.g. when the player exceeds). A round is recorded
+    // to the metrics once, the round which is left unfinished is recorded by the next reload or run
+    public void finishRound() {
+        assert isConfined() : CONFINEMENT_ERROR;
+
+        if (!isRoundOpen)
+            return;
+
+        isRoundOpen = false;
+
+        if (metrics != null) {
+            if (roundStartNanos < 0)
+                metrics.recordRound(cardPlayers, -1, 0);
+            else {
+                long nowNanos = System.nanoTime();
+                metrics.recordRound(cardPlayers, nowNanos - roundStartNanos, nowNanos);
+            }
+        }
+    }
+
+    // Seats of the winners as bits (see RoundJournal)
+    int winnersMask() {
+        return winnersMask;
     }
 }
@@ -0,0 +1,69 @@
+package model;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+
+//
+// Player's cards. The total of points, the amount of cards and the amount of aces
+// are updated when a card is added, so the queries don't walk through the cards.
+// The hand is a read-only view for the callers outside the model (cards are dealt by GameModel).
+// The class is not synchronized: the hand belongs to its game model's thread
+//
+
+public class Hand extends AbstractList<Card> {
+    private byte[] cards;
+    private int size;
+    private int pointsAmount;
+    private int acesAmount;
+
+    Hand() {
+        cards = new byte[Card.CARDS_AMOUNT];
+        size = 0;
+        pointsAmount = 0;
+        acesAmount = 0;
+    }
+
+    @Override
+    public Card get(int index) throws IndexOutOfBoundsException {
+        if (index < 0 || index >= size)
+            throw new IndexOutOfBoundsException("get: invalid argument 'index'");
+
+        return Card.valueOf(cards[index]);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    void reset() {
+        size = 0;
+        pointsAmount = 0;
+        acesAmount = 0;
+    }
+
+    // The weight comes from the model's rule set (see RuleSet)
+    void push(int cardIndex, int cardWeight) {
+        if (size == cards.length)
+            cards = Arrays.copyOf(cards, size * 2);
+
+        cards[size++] = (byte) cardIndex;
+        pointsAmount += cardWeight;
+
+        if (Card.isAce(cardIndex))
+            acesAmount++;
+    }
+
+    public int getPointsAmount() {
+        return pointsAmount;
+    }
+
+    public int getAcesAmount() {
+        return acesAmount;
+    }
+
+    // The hand is soft when it holds an ace counted by its highest weight
+    public boolean isSoft() {
+        return acesAmount > 0;
+    }
+}
@@ -0,0 +1,42 @@
+package model;
+
+// The original computer's logic: the higher the total, the more likely the computer passes
+public final class HeuristicStrategy implements Strategy {
+    private static final int MAX_POSSIBILITY = 100;
+    private static final int[] POSSIBILITY_PERCENTAGES = { 98, 86, 58 };
+
+    private static boolean calculatePossibility(GameModel model, double percentage) {
+        int possibility = model.getRandom().nextInt(MAX_POSSIBILITY + 1);
+        return possibility <= percentage;
+    }
+
+    @Override
+    public boolean shouldHit(CardPlayer cardPlayer, GameModel model) {
+        int pointsAmount = cardPlayer.getPointsAmount();
+
+        // TODO: 4/26/18 Improve the computer's logic
+
+        RuleSet rules = model.getRules();
+        int upperBound = rules.getMaxScore() - rules.getMinWeight() + 1;
+        int lowerBound = rules.getMaxScore() - rules.getMaxWeight();
+
+        if (pointsAmount >= upperBound)
+            return false;
+
+        if (pointsAmount <= lowerBound)
+            return true;
+
+        int[] breakpoints = {
+            lowerBound + (upperBound - lowerBound) / 5,
+            lowerBound + (upperBound - lowerBound) / 2,
+            upperBound - 1
+        };
+
+        if (pointsAmount <= breakpoints[0])
+            return calculatePossibility(model, POSSIBILITY_PERCENTAGES[0]);
+        else if (pointsAmount <= breakpoints[1])
+            return calculatePossibility(model, POSSIBILITY_PERCENTAGES[1]);
+        else
+            return calculatePossibility(model, POSSIBILITY_PERCENTAGES[2]);
+    }
+}
@@ -0,0 +1,117 @@
+package model;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+//
+// Runs Simulation on several cores. The rounds are split into a fixed amount of chunks,
+// every chunk has its own GameModel, random stream and statistics accumulator,
+// so the merged result depends only on the seed (and not on the amount of threads).
+// Every chunk records its rounds to its own journal, if the journal's directory is set
+//
+
+public class ParallelSimulation {
+    private static final int CHUNKS_AMOUNT = 256;
+
+    private final long roundsAmount;
+    private final int playersAmount;
+    private final long seed;
+    private final int playerStandTotal;
+    private final String computerStrategyName;
+    private final int threadsAmount;
+    private Path journalDirectory;
+
+    public ParallelSimulation(long roundsAmount, int playersAmount, long seed, int threadsAmount)
+        throws IllegalArgumentException {
+        this(roundsAmount, playersAmount, seed, Simulation.DEFAULT_PLAYER_STAND_TOTAL,
+            Strategies.getConfiguredName(), threadsAmount);
+    }
+
+    // Every chunk creates its own strategy instance by the name (see Strategies)
+    public ParallelSimulation(long roundsAmount, int playersAmount, long seed, int playerStandTotal,
+                              String computerStrategyName, int threadsAmount) throws IllegalArgumentException {
+        if (roundsAmount < 0)
+            throw new IllegalArgumentException("Error in argument 'roundsAmount': negative value.");
+        if (playersAmount <= 0 || playersAmount > GameModel.MAX_PLAYERS_AMOUNT)
+            throw new IllegalArgumentException(
+                "Error in argument 'playersAmount': out of [1, " + GameModel.MAX_PLAYERS_AMOUNT + "].");
+        if (threadsAmount <= 0)
+            throw new IllegalArgumentException("Error in argument 'threadsAmount': non-positive value.");
+
+        this.roundsAmount = roundsAmount;
+        this.playersAmount = playersAmount;
+        this.seed = seed;
+        this.playerStandTotal = playerStandTotal;
+        this.computerStrategyName = computerStrategyName;
+        this.threadsAmount = threadsAmount;
+    }
+
+    public void setJournalDirectory(Path journalDirectory) {
+        this.journalDirectory = journalDirectory;
+    }
+
+    private static String chunkJournalName(int chunkIndex) {
+        return String.format("chunk-%03d", chunkIndex);
+    }
+
+    private SimulationStatistics runChunk(Simulation chunk, int chunkIndex) throws Exception {
+        if (journalDirectory == null)
+            return chunk.run();
+
+        try (RoundJournal journal = new RoundJournal(journalDirectory, chunkJournalName(chunkIndex))) {
+            chunk.setJournal(journal);
+            return chunk.run();
+        }
+    }
+
+    // An interrupted run throws rather than returns the statistics of the chunks merged so far
+    public SimulationStatistics run() throws IllegalStateException {
+        // The streams are split in the same order every time, which makes the run reproducible
+        SplittableRandom rootRandom = new SplittableRandom(seed);
+        List<Simulation> chunks = new ArrayList<>(CHUNKS_AMOUNT);
+
+        long chunkSize = roundsAmount / CHUNKS_AMOUNT;
+        long remainder = roundsAmount % CHUNKS_AMOUNT;
+
+        for (int i = 0; i < CHUNKS_AMOUNT; i++) {
+            long chunkRounds = chunkSize + (i < remainder ? 1 : 0);
+            chunks.add(new Simulation(chunkRounds, playersAmount, rootRandom.split(),
+                new ThresholdStrategy(playerStandTotal), Strategies.create(computerStrategyName)));
+        }
+
+        SimulationStatistics statistics = new SimulationStatistics();
+        ForkJoinPool pool = new ForkJoinPool(threadsAmount);
+
+        long startTime = System.nanoTime();
+        try {
+            List<Future<SimulationStatistics>> results = new ArrayList<>(CHUNKS_AMOUNT);
+            for (int i = 0; i < CHUNKS_AMOUNT; i++) {
+                Simulation chunk = chunks.get(i);
+                int chunkIndex = i;
+
+                results.add(pool.submit(() -> runChunk(chunk, chunkIndex)));
+            }
+
+            for (Future<SimulationStatistics> result : results)
+                statistics.merge(result.get());
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Simulation has been interrupted", e);
+        }
+        catch (ExecutionException e) {
+            throw new IllegalStateException("Simulation has failed", e.getCause());
+        }
+        finally {
+            pool.shutdownNow();
+        }
+        statistics.setElapsedNanos(System.nanoTime() - startTime);
+
+        return statistics;
+    }
+}
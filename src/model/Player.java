@@ -1,26 +1,21 @@
 package model;
 
 public class Player extends CardPlayer {
-    private static int playerIndex = 0;
-
-    Player() {
-        super("Player " + ++playerIndex);
-    }
-
-    static void resetPlayerIndex() {
-        playerIndex = 0;
+    Player(String playerName) {
+        super(playerName);
     }
 
     @Override
     public void analyzeTurn() {
         int pointsAmount = this.getPointsAmount();
+        RuleSet rules = this.getModel().getRules();
 
-        if (pointsAmount > GameModel.MAX_SCORE)
+        if (pointsAmount > rules.getMaxScore())
             this.setExceed(true);
-        else if (pointsAmount == GameModel.MAX_SCORE)
+        else if (pointsAmount == rules.getMaxScore())
             this.setWin(true);
 
-        if (this.isDealer() && pointsAmount >= GameModel.MAX_DEALER_TOTAL)
+        if (this.isDealer() && pointsAmount >= rules.getDealerStandTotal())
             this.setPass(true);
     }
 }
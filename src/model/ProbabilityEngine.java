@@ -0,0 +1,311 @@
+package model;
+
+import java.util.Arrays;
+
+//
+// Exact probabilities of a hand's outcomes for the given composition of the remaining deck (see CardDeck).
+// The recursion over the deck states is memoized by (composition, query), so a repeated query
+// is answered straight from the cache. Every shoe's composition brings its own entries, so the cache
+// is bounded: it's cleared once it holds MAX_CACHE_SIZE entries (the entries of the current deck
+// are computed again in a few queries). The engine is not synchronized: use one engine per thread
+//
+
+public class ProbabilityEngine {
+    // Kinds of the memoized queries:
+    private static final int BEAT = 0;
+    private static final int BUST = 1;
+    private static final int MAX_SCORE = 2;
+    private static final int DEALER_BEATEN = 3;
+    private static final int BEAT_DEALER = 4;
+
+    private static final int INITIAL_CACHE_CAPACITY = 1 << 12;
+    private static final int MAX_CACHE_CAPACITY = 1 << 18;
+
+    // The cache is half full at most (see Cache.put)
+    public static final int MAX_CACHE_SIZE = MAX_CACHE_CAPACITY / 2;
+
+    private final RuleSet rules;
+    private final int maxScore;
+    private final int[] cardNameWeights;
+    private final Cache cache;
+
+    public ProbabilityEngine() {
+        this(RuleSets.getTwentyOne());
+    }
+
+    public ProbabilityEngine(RuleSet rules) {
+        this(rules, rules.getMaxScore(), rules.getCardNameWeights());
+    }
+
+    ProbabilityEngine(RuleSet rules, int maxScore, int[] cardNameWeights) {
+        this.rules = rules;
+        this.maxScore = maxScore;
+        this.cardNameWeights = cardNameWeights.clone();
+        this.cache = new Cache(INITIAL_CACHE_CAPACITY, MAX_CACHE_CAPACITY);
+    }
+
+    private int cardsAmount(long composition) {
+        int cardsAmount = 0;
+        for (int i = 0; i < cardNameWeights.length; i++)
+            cardsAmount += CardDeck.countOf(composition, i);
+
+        return cardsAmount;
+    }
+
+    // The chance that the next card exceeds the points limit
+    public double nextCardBustProbability(int total, long composition) {
+        return nextCardProbability(total, composition, false);
+    }
+
+    // The chance that the next card brings exactly MAX_SCORE
+    public double nextCardMaxScoreProbability(int total, long composition) {
+        return nextCardProbability(total, composition, true);
+    }
+
+    private double nextCardProbability(int total, long composition, boolean exactMaxScore) {
+        int cardsAmount = cardsAmount(composition);
+        if (cardsAmount == 0)
+            return 0;
+
+        int suitableCards = 0;
+        for (int i = 0; i < cardNameWeights.length; i++) {
+            int newTotal = total + cardNameWeights[i];
+
+            if (exactMaxScore ? newTotal == maxScore : newTotal > maxScore)
+                suitableCards += CardDeck.countOf(composition, i);
+        }
+
+        return (double) suitableCards / cardsAmount;
+    }
+
+    // The chance to exceed the points limit when taking cards while the total is below 'standTotal'
+    // (e.g. the dealer's rule with MAX_DEALER_TOTAL)
+    public double bustProbability(int total, long composition, int standTotal) {
+        return evaluate(BUST, total, composition, 0, normalizeStandTotal(standTotal));
+    }
+
+    // The chance to get exactly MAX_SCORE when taking cards while the total is below 'standTotal'
+    public double maxScoreProbability(int total, long composition, int standTotal) {
+        return evaluate(MAX_SCORE, total, composition, 0, normalizeStandTotal(standTotal));
+    }
+
+    // The chance to finish with more points than 'opponentTotal' (without exceeding the limit)
+    // when deciding optimally whether to take another card or to stop on every step
+    public double beatProbability(int total, long composition, int opponentTotal) {
+        return evaluate(BEAT, total, composition, 0, normalizeOpponentTotal(opponentTotal));
+    }
+
+    public boolean shouldHit(int total, long composition, int opponentTotal) {
+        if (total >= maxScore)
+            return false;
+
+        int target = normalizeOpponentTotal(opponentTotal);
+
+        return hitValue(BEAT, total, composition, 0, target) > standValue(total, target);
+    }
+
+    // The chance to beat the dealer who has 'dealerTotal' now and takes cards while below 'standTotal',
+    // when deciding optimally whether to take another card or to stop on every step
+    public double beatDealerProbability(int total, long composition, int dealerTotal, int standTotal) {
+        return evaluate(BEAT_DEALER, total, composition, dealerTotal, normalizeStandTotal(standTotal));
+    }
+
+    public boolean shouldHitAgainstDealer(int total, long composition, int dealerTotal, int standTotal) {
+        if (total >= maxScore)
+            return false;
+
+        int dealerStandTotal = normalizeStandTotal(standTotal);
+
+        return hitValue(BEAT_DEALER, total, composition, dealerTotal, dealerStandTotal)
+            > evaluate(DEALER_BEATEN, dealerTotal, composition, total, dealerStandTotal);
+    }
+
+    // The opponent who has exceeded the limit is beaten by any total
+    private int normalizeOpponentTotal(int opponentTotal) {
+        return opponentTotal > maxScore ? 0 : Math.max(0, opponentTotal);
+    }
+
+    private int normalizeStandTotal(int standTotal) {
+        return Math.max(0, Math.min(standTotal, maxScore));
+    }
+
+    public RuleSet getRules() {
+        return rules;
+    }
+
+    public int getCacheSize() {
+        return cache.size();
+    }
+
+    public void clearCache() {
+        cache.clear();
+    }
+
+    private double standValue(int total, int opponentTotal) {
+        return total > opponentTotal && total <= maxScore ? 1 : 0;
+    }
+
+    // The average of the query's values over the next card
+    private double hitValue(int kind, int total, long composition, int opponent, int target) {
+        int cardsAmount = cardsAmount(composition);
+        if (cardsAmount == 0)
+            return 0;
+
+        double value = 0;
+        for (int i = 0; i < cardNameWeights.length; i++) {
+            int count = CardDeck.countOf(composition, i);
+            if (count == 0)
+                continue;
+
+            long nextComposition = composition - (1L << (i * CardDeck.COMPOSITION_BITS));
+            value += count * evaluate(kind, total + cardNameWeights[i], nextComposition, opponent, target);
+        }
+
+        return value / cardsAmount;
+    }
+
+    // 'total' is the hand being played; 'opponent' and 'target' are the query's parameters:
+    // BUST, MAX_SCORE - the stand total as the target;
+    // BEAT - the opponent's total as the target;
+    // DEALER_BEATEN - the player's total as the opponent, the dealer's stand total as the target;
+    // BEAT_DEALER - the dealer's total as the opponent, the dealer's stand total as the target
+    private double evaluate(int kind, int total, long composition, int opponent, int target) {
+        // Terminal states:
+        switch (kind) {
+            case BUST:
+            case MAX_SCORE:
+                if (total > maxScore)
+                    return kind == BUST ? 1 : 0;
+                if (total == maxScore)
+                    return kind == BUST ? 0 : 1;
+                if (total >= target)
+                    return 0;
+                break;
+            case DEALER_BEATEN:
+                if (total > maxScore)
+                    return 1;
+                if (total >= target || total == maxScore)
+                    return total < opponent ? 1 : 0;
+                break;
+            default:
+                if (total > maxScore)
+                    return 0;
+                if (total == maxScore)
+                    return 1;
+        }
+
+        int query = kind << 24 | opponent << 16 | target << 8 | total;
+
+        double value = cache.get(composition, query);
+        if (!Double.isNaN(value))
+            return value;
+
+        switch (kind) {
+            case BEAT:
+                value = Math.max(standValue(total, target), hitValue(kind, total, composition, opponent, target));
+                break;
+            case BEAT_DEALER:
+                value = Math.max(
+                    evaluate(DEALER_BEATEN, opponent, composition, total, target),
+                    hitValue(kind, total, composition, opponent, target)
+                );
+                break;
+            default:
+                value = hitValue(kind, total, composition, opponent, target);
+                // The dealer stops when the deck is over
+                if (kind == DEALER_BEATEN && cardsAmount(composition) == 0)
+                    value = total < opponent ? 1 : 0;
+        }
+
+        cache.put(composition, query, value);
+
+        return value;
+    }
+
+    // Open addressing hash map (composition, query) -> probability without any boxing,
+    // it grows up to maxCapacity and then is cleared when it's full
+    private static final class Cache {
+        private static final int EMPTY = -1;
+
+        private final int maxCapacity;
+
+        private long[] compositions;
+        private int[] queries;
+        private double[] values;
+        private int size;
+
+        Cache(int capacity, int maxCapacity) {
+            this.maxCapacity = maxCapacity;
+            allocate(capacity);
+        }
+
+        private void allocate(int capacity) {
+            compositions = new long[capacity];
+            queries = new int[capacity];
+            values = new double[capacity];
+            Arrays.fill(queries, EMPTY);
+            size = 0;
+        }
+
+        private int indexOf(long composition, int query) {
+            long hash = (composition + query * 0xC2B2AE3D27D4EB4FL) * 0x9E3779B97F4A7C15L;
+            return (int) (hash >>> 32) & (queries.length - 1);
+        }
+
+        double get(long composition, int query) {
+            int mask = queries.length - 1;
+
+            for (int i = indexOf(composition, query); queries[i] != EMPTY; i = (i + 1) & mask)
+                if (queries[i] == query && compositions[i] == composition)
+                    return values[i];
+
+            return Double.NaN;
+        }
+
+        void put(long composition, int query, double value) {
+            if ((size + 1) * 2 > queries.length) {
+                if (queries.length < maxCapacity)
+                    resize();
+                else
+                    clear();
+            }
+
+            int mask = queries.length - 1;
+            int i = indexOf(composition, query);
+
+            while (queries[i] != EMPTY) {
+                if (queries[i] == query && compositions[i] == composition) {
+                    values[i] = value;
+                    return;
+                }
+                i = (i + 1) & mask;
+            }
+
+            compositions[i] = composition;
+            queries[i] = query;
+            values[i] = value;
+            size++;
+        }
+
+        private void resize() {
+            long[] oldCompositions = compositions;
+            int[] oldQueries = queries;
+            double[] oldValues = values;
+
+            allocate(oldQueries.length * 2);
+
+            for (int i = 0; i < oldQueries.length; i++)
+                if (oldQueries[i] != EMPTY)
+                    put(oldCompositions[i], oldQueries[i], oldValues[i]);
+        }
+
+        int size() {
+            return size;
+        }
+
+        void clear() {
+            Arrays.fill(queries, EMPTY);
+            size = 0;
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package model;
+
+// Exact decisions for the actual remaining deck (see ProbabilityEngine).
+// The engine is not synchronized, so every model gets its own instance of the strategy.
+// The engine (and its cache) is replaced when the model's rule set changes
+public final class ProbabilityStrategy implements Strategy {
+    private ProbabilityEngine engine = new ProbabilityEngine();
+
+    ProbabilityEngine getEngine() {
+        return engine;
+    }
+
+    @Override
+    public boolean shouldHit(CardPlayer cardPlayer, GameModel model) {
+        RuleSet rules = model.getRules();
+        if (engine.getRules() != rules)
+            engine = new ProbabilityEngine(rules);
+
+        int pointsAmount = cardPlayer.getPointsAmount();
+        int opponentValue = model.getOpponentValue(cardPlayer);
+        long composition = model.getCardDeckComposition();
+
+        if (cardPlayer.isDealer())
+            return engine.shouldHit(pointsAmount, composition, opponentValue);
+
+        return engine.shouldHitAgainstDealer(pointsAmount, composition, opponentValue, rules.getDealerStandTotal());
+    }
+}
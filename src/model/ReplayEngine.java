@@ -0,0 +1,340 @@
+package model;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+//
+// Deterministic replay of the rounds recorded by RoundJournal: every round is re-executed
+// on GameModel (the deck is shuffled with the recorded seed, the recorded actions are applied)
+// and the dealt cards, the busts and the checkWinners result are compared with the recorded ones.
+// Segments are memory-mapped and the events are read in place, without copying.
+// Every segment holds whole shoes, so the parallel mode replays the segments independently.
+// The rounds of a shoe are dependent: once a round mismatches, the rest of its shoe does too.
+// A segment is replayed with the rule set it was recorded with (the segments before the version 4
+// had no rule set's name, they are replayed with the configured rules)
+//
+
+public class ReplayEngine {
+    private final GameModel model;
+    private final RuleSet configuredRules;
+
+    public ReplayEngine() {
+        // The model's random generator is not used: the decks are shuffled with the recorded seeds
+        model = new GameModel(new SplittableRandom(0));
+        configuredRules = model.getRules();
+
+        // The replayed rounds are not the games' ones
+        model.setMetrics(null);
+    }
+
+    // The segments of all the journals in the directory, in the order they were written
+    public static List<Path> listSegments(Path directory) throws IOException {
+        try (Stream<Path> paths = Files.list(directory)) {
+            return paths
+                .filter(path -> path.getFileName().toString().endsWith(RoundJournal.SEGMENT_EXTENSION))
+                .sorted()
+                .toList();
+        }
+    }
+
+    public ReplayStatistics replay(Path directory) throws IOException {
+        ReplayStatistics statistics = new ReplayStatistics();
+
+        long startTime = System.nanoTime();
+        for (Path segment : listSegments(directory))
+            replaySegment(segment, statistics);
+        statistics.setElapsedNanos(System.nanoTime() - startTime);
+
+        return statistics;
+    }
+
+    // Every segment is replayed by its own engine (i.e. its own model) on the pool.
+    // An interrupted replay throws rather than returns the segments merged so far
+    public static ReplayStatistics replay(Path directory, int threadsAmount)
+        throws IOException, IllegalArgumentException, IllegalStateException {
+        if (threadsAmount <= 0)
+            throw new IllegalArgumentException("Error in argument 'threadsAmount': non-positive value.");
+
+        List<Path> segments = listSegments(directory);
+        ReplayStatistics statistics = new ReplayStatistics();
+        ForkJoinPool pool = new ForkJoinPool(threadsAmount);
+
+        long startTime = System.nanoTime();
+        try {
+            List<Future<ReplayStatistics>> results = new ArrayList<>(segments.size());
+            for (Path segment : segments)
+                results.add(pool.submit(() -> new ReplayEngine().replaySegment(segment)));
+
+            for (Future<ReplayStatistics> result : results)
+                statistics.merge(result.get());
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Replay has been interrupted", e);
+        }
+        catch (ExecutionException e) {
+            throw new IllegalStateException("Replay has failed", e.getCause());
+        }
+        finally {
+            pool.shutdownNow();
+        }
+        statistics.setElapsedNanos(System.nanoTime() - startTime);
+
+        return statistics;
+    }
+
+    public ReplayStatistics replaySegment(Path segment) throws IOException, IllegalArgumentException {
+        ReplayStatistics statistics = new ReplayStatistics();
+
+        long startTime = System.nanoTime();
+        replaySegment(segment, statistics);
+        statistics.setElapsedNanos(System.nanoTime() - startTime);
+
+        return statistics;
+    }
+
+    private void replaySegment(Path segment, ReplayStatistics statistics)
+        throws IOException, IllegalArgumentException {
+        // The engine may be created on one thread and used on another one
+        model.bindToCurrentThread();
+
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ)) {
+            MappedByteBuffer events = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            events.order(RoundJournal.BYTE_ORDER);
+
+            if (events.capacity() < RoundJournal.HEADER_SIZE
+                || events.getInt(0) != RoundJournal.MAGIC
+                || events.getInt(Integer.BYTES) < 1
+                || events.getInt(Integer.BYTES) > RoundJournal.VERSION)
+                throw new IllegalArgumentException("Invalid journal segment: " + segment);
+
+            int version = events.getInt(Integer.BYTES);
+            String segmentName = segment.getFileName().toString();
+            int offset = RoundJournal.HEADER_SIZE;
+
+            if (version >= 4 && offset < events.limit()) {
+                String error = startSegment(events, offset);
+
+                if (error != null) {
+                    statistics.recordMismatch(segmentName + " @" + offset + ": " + error);
+                    statistics.recordSegment(false);
+                    return;
+                }
+
+                offset += 1 + Byte.toUnsignedInt(events.get(offset));
+            }
+            else if (version < 4 && model.getRules() != configuredRules)
+                model.setRules(configuredRules);
+
+            replayEvents(events, offset, version, segmentName, statistics);
+        }
+    }
+
+    // Takes the rule set of the segment, returns the description of the mismatch or null
+    private String startSegment(MappedByteBuffer events, int offset) {
+        int length = Byte.toUnsignedInt(events.get(offset));
+        if (offset + 1 + length > events.limit())
+            return "the rule set's name is truncated";
+
+        byte[] bytes = new byte[length];
+        events.get(offset + 1, bytes);
+        String rulesName = new String(bytes, StandardCharsets.UTF_8);
+
+        if (model.getRules().getName().equals(rulesName))
+            return null;
+
+        try {
+            model.setRules(RuleSets.get(rulesName));
+        }
+        catch (IllegalArgumentException e) {
+            return e.getMessage();
+        }
+
+        return null;
+    }
+
+    private static int eventSize(byte type, int version) {
+        switch (type) {
+            case RoundJournal.ROUND_STARTED:
+                return (version == 1 ? 2 : version == 2 ? 3 : 4) + Long.BYTES;
+            case RoundJournal.DEAL:
+            case RoundJournal.HIT:
+                return 3;
+            case RoundJournal.STAND:
+            case RoundJournal.BUST:
+                return 2;
+            case RoundJournal.WINNERS:
+                return 1 + Integer.BYTES;
+            default:
+                return -1;
+        }
+    }
+
+    private void replayEvents(MappedByteBuffer events, int offset, int version, String segmentName,
+                              ReplayStatistics statistics) {
+        int limit = events.limit();
+
+        boolean isInRound = false;
+        boolean isMismatched = false;
+        boolean isVerified = false;
+        boolean hasShoe = false;
+        int roundEvents = 0;
+
+        while (offset < limit) {
+            byte type = events.get(offset);
+            int size = eventSize(type, version);
+
+            if (size < 0) {
+                statistics.recordMismatch(segmentName + " @" + offset + ": unknown event " + type);
+                break;
+            }
+            if (offset + size > limit) {
+                statistics.recordSegment(true);
+                finishRound(isInRound, roundEvents, isVerified, statistics);
+                return;
+            }
+
+            if (type == RoundJournal.ROUND_STARTED) {
+                finishRound(isInRound, roundEvents, isVerified, statistics);
+
+                isInRound = true;
+                isVerified = false;
+                roundEvents = 0;
+
+                // Before the shoes every round had a new single deck
+                String error;
+                if (version == 1)
+                    error = startRound(events.get(offset + 1), ShuffleEngines.SPLITTABLE_ID, 1,
+                        events.getLong(offset + 2));
+                else if (version == 2)
+                    error = startRound(events.get(offset + 1), events.get(offset + 2), 1, events.getLong(offset + 3));
+                else {
+                    int decksAmount = events.get(offset + 3);
+
+                    error = decksAmount == 0 && !hasShoe
+                        ? "the shoe was started outside of the segment"
+                        : startRound(events.get(offset + 1), events.get(offset + 2), decksAmount,
+                            events.getLong(offset + 4));
+                }
+
+                hasShoe = true;
+                isMismatched = error != null;
+                if (isMismatched)
+                    statistics.recordMismatch(segmentName + " @" + offset + ": " + error);
+            }
+            else if (!isInRound) {
+                statistics.recordMismatch(segmentName + " @" + offset + ": event outside of a round");
+                isInRound = true;
+                isMismatched = true;
+            }
+            else if (!isMismatched) {
+                String error = applyEvent(type, events, offset);
+
+                if (type == RoundJournal.WINNERS)
+                    isVerified = error == null;
+
+                isMismatched = error != null;
+                if (isMismatched)
+                    statistics.recordMismatch(segmentName + " @" + offset + ": " + error);
+            }
+
+            roundEvents++;
+            offset += size;
+        }
+
+        finishRound(isInRound, roundEvents, isVerified, statistics);
+        statistics.recordSegment(false);
+    }
+
+    private static void finishRound(boolean isInRound, int roundEvents, boolean isVerified,
+                                    ReplayStatistics statistics) {
+        if (isInRound)
+            statistics.recordRound(roundEvents, isVerified);
+    }
+
+    // Returns the description of the mismatch or null
+    private String startRound(int seatsAmount, byte shuffleEngineId, int decksAmount, long shuffleSeed) {
+        if (seatsAmount < 2 || seatsAmount > GameModel.MAX_SEATS_AMOUNT)
+            return "invalid amount of seats " + seatsAmount;
+        if (decksAmount < 0 || decksAmount > GameModel.MAX_DECKS_AMOUNT)
+            return "invalid amount of decks " + decksAmount;
+
+        // The engines are kept until a round of another engine
+        if (model.getShuffleEngine().getId() != shuffleEngineId) {
+            try {
+                model.setShuffleEngine(ShuffleEngines.create(shuffleEngineId));
+            }
+            catch (IllegalArgumentException e) {
+                return e.getMessage();
+            }
+        }
+
+        model.replayRound(seatsAmount - 1, decksAmount, shuffleSeed);
+
+        return null;
+    }
+
+    // Returns the description of the mismatch or null
+    private String applyEvent(byte type, MappedByteBuffer events, int offset) {
+        if (type == RoundJournal.WINNERS) {
+            model.checkWinners();
+
+            int recordedMask = events.getInt(offset + 1);
+            int replayedMask = model.winnersMask();
+
+            return recordedMask == replayedMask ? null
+                : "winners " + Integer.toBinaryString(replayedMask)
+                    + " instead of " + Integer.toBinaryString(recordedMask);
+        }
+
+        int seat = events.get(offset + 1);
+        if (seat < 0 || seat >= model.getCardPlayers().size())
+            return "invalid seat " + seat;
+
+        CardPlayer cardPlayer = model.getCardPlayer(seat);
+
+        switch (type) {
+            case RoundJournal.DEAL:
+            case RoundJournal.HIT:
+                if (model.isCardDeckEmpty())
+                    return "the deck is empty";
+                if (cardPlayer.getCardDeck().isEmpty() != (type == RoundJournal.DEAL))
+                    return "deal and hit are mixed up at seat " + seat;
+
+                int recordedCard = events.get(offset + 2);
+                int replayedCard = model.dealCard(cardPlayer).getIndex();
+
+                if (replayedCard != recordedCard)
+                    return "card " + replayedCard + " instead of " + recordedCard + " at seat " + seat;
+
+                // Twenty-one isn't recorded, it's set by analyzeTurn right after the card
+                if (cardPlayer.getPointsAmount() == model.getRules().getMaxScore())
+                    cardPlayer.setWin(true);
+
+                return null;
+            case RoundJournal.STAND:
+                cardPlayer.setPass(true);
+                return null;
+            case RoundJournal.BUST:
+                if (cardPlayer.getPointsAmount() <= model.getRules().getMaxScore())
+                    return "bust with " + cardPlayer.getPointsAmount() + " points at seat " + seat;
+
+                cardPlayer.setExceed(true);
+                return null;
+            default:
+                return "unexpected event " + type;
+        }
+    }
+}
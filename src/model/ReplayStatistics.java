@@ -0,0 +1,106 @@
+package model;
+
+public class ReplayStatistics {
+    private long segmentsAmount;
+    private long roundsAmount;
+    private long eventsAmount;
+
+    // Rounds with a recorded checkWinners result, which has been compared with the replayed one
+    private long verifiedRounds;
+    private long mismatchedRounds;
+    private String firstMismatch;
+
+    // Segments which end in the middle of an event (e.g. the journal hasn't been closed)
+    private long truncatedSegments;
+
+    private long elapsedNanos;
+
+    public long getSegmentsAmount() {
+        return segmentsAmount;
+    }
+
+    public long getRoundsAmount() {
+        return roundsAmount;
+    }
+
+    public long getEventsAmount() {
+        return eventsAmount;
+    }
+
+    public long getVerifiedRounds() {
+        return verifiedRounds;
+    }
+
+    public long getMismatchedRounds() {
+        return mismatchedRounds;
+    }
+
+    // Returns null when all the rounds match
+    public String getFirstMismatch() {
+        return firstMismatch;
+    }
+
+    public long getTruncatedSegments() {
+        return truncatedSegments;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    void setElapsedNanos(long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public double getRoundsPerSecond() {
+        if (elapsedNanos == 0)
+            return 0;
+
+        return roundsAmount * 1e9 / elapsedNanos;
+    }
+
+    void recordSegment(boolean isTruncated) {
+        segmentsAmount++;
+
+        if (isTruncated)
+            truncatedSegments++;
+    }
+
+    void recordRound(int eventsAmount, boolean isVerified) {
+        roundsAmount++;
+        this.eventsAmount += eventsAmount;
+
+        if (isVerified)
+            verifiedRounds++;
+    }
+
+    void recordMismatch(String description) {
+        mismatchedRounds++;
+
+        if (firstMismatch == null)
+            firstMismatch = description;
+    }
+
+    // The first mismatch of 'other' is kept only if this one has none,
+    // so the statistics have to be merged in the segments' order
+    void merge(ReplayStatistics other) {
+        segmentsAmount += other.segmentsAmount;
+        roundsAmount += other.roundsAmount;
+        eventsAmount += other.eventsAmount;
+        verifiedRounds += other.verifiedRounds;
+        mismatchedRounds += other.mismatchedRounds;
+        truncatedSegments += other.truncatedSegments;
+
+        if (firstMismatch == null)
+            firstMismatch = other.firstMismatch;
+    }
+
+    @Override
+    public String toString() {
+        return "Segments: " + segmentsAmount + " (truncated: " + truncatedSegments + ")\n"
+            + "Rounds: " + roundsAmount
+            + " (" + String.format("%.0f", getRoundsPerSecond()) + " rounds/s), events: " + eventsAmount + "\n"
+            + "Verified rounds: " + verifiedRounds + ", mismatched rounds: " + mismatchedRounds
+            + (firstMismatch == null ? "" : "\nFirst mismatch: " + firstMismatch);
+    }
+}
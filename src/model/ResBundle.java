@@ -6,22 +6,70 @@ import java.net.URL;
 import java.net.URLClassLoader;
 import java.util.Locale;
 import java.util.ResourceBundle;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+//
+// Cached bundle service: every (baseName, locale) pair is parsed once,
+// and all the bundles of a directory are read by one shared class loader.
+// Switching the current locale takes the bundles from the cache and never reads the disk again
+//
 
 public final class ResBundle {
-    public static ResourceBundle getBundle(String baseName, Locale locale) {
+    private static final ConcurrentMap<String, ClassLoader> CLASS_LOADERS = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<String, ResourceBundle> BUNDLES = new ConcurrentHashMap<>();
+
+    private static volatile Locale currentLocale = Locale.getDefault();
+
+    private ResBundle() {}
+
+    private static String keyOf(String baseName, Locale locale) {
+        return baseName + '_' + locale.toLanguageTag();
+    }
+
+    // 'directory' is the part of the baseName before the first slash, e.g. "resources"
+    private static ClassLoader classLoaderOf(String directory) {
+        return CLASS_LOADERS.computeIfAbsent(directory, pathname -> {
+            URL[] urls = new URL[0];
+            try {
+                urls = new URL[] { new File(pathname).toURI().toURL() };
+            } catch (MalformedURLException e) {
+                e.printStackTrace();
+            }
+
+            return new URLClassLoader(urls);
+        });
+    }
+
+    private static ResourceBundle loadBundle(String baseName, Locale locale) {
         int indexOfSlash = baseName.indexOf('/');
 
         String pathname = baseName.substring(0, indexOfSlash);
-        String bundleName = baseName.substring(indexOfSlash + 1, baseName.length());
+        String bundleName = baseName.substring(indexOfSlash + 1);
 
-        URL[] urls = new URL[0];
-        try {
-            urls = new URL[] { new File(pathname).toURI().toURL() };
-        } catch (MalformedURLException e) {
-            e.printStackTrace();
-        }
-        ClassLoader classLoader = new URLClassLoader(urls);
+        return ResourceBundle.getBundle(bundleName, locale, classLoaderOf(pathname));
+    }
+
+    public static ResourceBundle getBundle(String baseName, Locale locale) {
+        return BUNDLES.computeIfAbsent(keyOf(baseName, locale), key -> loadBundle(baseName, locale));
+    }
+
+    // Returns the bundle of the current locale
+    public static ResourceBundle getBundle(String baseName) {
+        return getBundle(baseName, currentLocale);
+    }
+
+    // Loads the bundles in advance (e.g. at startup in background), so switching the locale is free
+    public static void preload(Locale locale, String... baseNames) {
+        for (String baseName : baseNames)
+            getBundle(baseName, locale);
+    }
+
+    public static Locale getLocale() {
+        return currentLocale;
+    }
 
-        return ResourceBundle.getBundle(bundleName, locale, classLoader);
+    public static void setLocale(Locale locale) {
+        currentLocale = locale;
     }
 }
@@ -0,0 +1,263 @@
+package model;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+//
+// Append-only binary journal of the model's events (see GameModel.setJournal).
+// Events are fixed-size records put into a direct buffer, which is written to the current
+// segment when it's full, so an event costs a few stores on the hot path.
+// The events are written and synced to the disk once per sync interval (batched fsync): the interval
+// is checked at the start of every round (a clock read per event would cost more than the event),
+// and a slow writer (e.g. the game) calls syncIfDue from a timer, so no event stays out of the disk
+// much longer than the interval.
+// A new segment is started only at the beginning of a round with a new shoe, so every segment
+// holds whole shoes of one rule set and can be replayed on its own.
+//
+// Segment: a header (magic, version, segment number, reserved), the rule set's name
+// ([length] [UTF-8 bytes], written with the first round) followed by the events:
+//   ROUND_STARTED [seats] [shuffle engine's id] [decks of a new shoe, 0 if the shoe goes on] [shuffle seed: 8 bytes]
+//   DEAL / HIT    [seat] [card index]     (HIT is any card after the first one)
+//   STAND / BUST  [seat]
+//   WINNERS       [seats mask: 4 bytes]   (the result of checkWinners)
+//
+// Like GameModel, a journal is used by one thread at a time
+//
+
+public class RoundJournal implements Closeable {
+    public static final String PROPERTY_NAME = "twentyone.journal"; // the journal's directory
+    public static final long DEFAULT_SEGMENT_SIZE = 64L << 20;
+    public static final long DEFAULT_SYNC_INTERVAL_MILLIS = 1000;
+    public static final int MAX_SEATS = Integer.SIZE;
+
+    static final int MAGIC = 0x32314A52; // "21JR"
+    // The first version had no shuffle engine's id (it was always 0),
+    // the second one had no shoes (every round had a new single deck),
+    // the third one had no rule set's name (the rounds were replayed with the configured rules)
+    static final int VERSION = 4;
+    static final int MAX_RULES_NAME_LENGTH = 255;
+    static final int HEADER_SIZE = 4 * Integer.BYTES;
+    static final String SEGMENT_EXTENSION = ".journal";
+
+    static final byte ROUND_STARTED = 1;
+    static final byte DEAL = 2;
+    static final byte HIT = 3;
+    static final byte STAND = 4;
+    static final byte BUST = 5;
+    static final byte WINNERS = 6;
+
+    static final ByteOrder BYTE_ORDER = ByteOrder.LITTLE_ENDIAN;
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int MAX_EVENT_SIZE = 4 + Long.BYTES;
+
+    private final Path directory;
+    private final String name;
+    private final long segmentSize;
+    private final long syncIntervalNanos;
+
+    private final ByteBuffer buffer;
+    private FileChannel channel;
+    private final int firstSegmentNumber;
+    private int segmentNumber;
+    private long segmentPosition;
+    private long lastSyncTime;
+    private boolean hasUnsyncedEvents;
+
+    // The rule set of the current segment, null until its first round
+    private String rulesName;
+
+    private long eventsAmount;
+    private long roundsAmount;
+
+    public RoundJournal(Path directory, String name) throws IOException {
+        this(directory, name, DEFAULT_SEGMENT_SIZE, DEFAULT_SYNC_INTERVAL_MILLIS);
+    }
+
+    public RoundJournal(Path directory, String name, long segmentSize, long syncIntervalMillis)
+        throws IOException, IllegalArgumentException {
+        if (segmentSize <= HEADER_SIZE)
+            throw new IllegalArgumentException("Error in argument 'segmentSize': too small value.");
+        if (syncIntervalMillis < 0)
+            throw new IllegalArgumentException("Error in argument 'syncIntervalMillis': negative value.");
+
+        this.directory = directory;
+        this.name = name;
+        this.segmentSize = segmentSize;
+        this.syncIntervalNanos = syncIntervalMillis * 1_000_000;
+
+        buffer = ByteBuffer.allocateDirect(BUFFER_SIZE).order(BYTE_ORDER);
+
+        Files.createDirectories(directory);
+
+        firstSegmentNumber = nextSegmentNumber(directory, name);
+        openSegment(firstSegmentNumber);
+    }
+
+    // Segments are named "<name>-<number>.journal", numbering goes on after the existing ones
+    static String segmentFileName(String name, int segmentNumber) {
+        return String.format("%s-%06d%s", name, segmentNumber, SEGMENT_EXTENSION);
+    }
+
+    private static int nextSegmentNumber(Path directory, String name) {
+        int segmentNumber = 0;
+
+        while (Files.exists(directory.resolve(segmentFileName(name, segmentNumber))))
+            segmentNumber++;
+
+        return segmentNumber;
+    }
+
+    private void openSegment(int segmentNumber) throws IOException {
+        this.segmentNumber = segmentNumber;
+
+        channel = FileChannel.open(directory.resolve(segmentFileName(name, segmentNumber)),
+            StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+
+        buffer.putInt(MAGIC).putInt(VERSION).putInt(segmentNumber).putInt(0);
+        rulesName = null;
+        segmentPosition = 0;
+        lastSyncTime = System.nanoTime();
+    }
+
+    private void rotate() throws IOException {
+        writeBuffer();
+        channel.force(false);
+        channel.close();
+
+        openSegment(segmentNumber + 1);
+    }
+
+    private void writeBuffer() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining())
+            segmentPosition += channel.write(buffer);
+        buffer.clear();
+
+        long now = System.nanoTime();
+        if (now - lastSyncTime >= syncIntervalNanos) {
+            channel.force(false);
+            lastSyncTime = now;
+            hasUnsyncedEvents = false;
+        }
+    }
+
+    private ByteBuffer reserve() {
+        if (buffer.remaining() < MAX_EVENT_SIZE) {
+            try {
+                writeBuffer();
+            }
+            catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        hasUnsyncedEvents = true;
+        eventsAmount++;
+        return buffer;
+    }
+
+    // Events (recorded by GameModel and CardPlayer):
+
+    // A new shoe of another rule set starts a new segment
+    void roundStarted(String rulesName, int seatsAmount, byte shuffleEngineId, int decksAmount, long shuffleSeed)
+            throws IllegalArgumentException {
+        if (seatsAmount > MAX_SEATS)
+            throw new IllegalArgumentException("RoundJournal: too many seats (" + seatsAmount + ")");
+
+        try {
+            if (decksAmount > 0 && this.rulesName != null
+                && (segmentPosition + buffer.position() >= segmentSize || !this.rulesName.equals(rulesName)))
+                rotate();
+            else
+                syncIfDue();
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        if (this.rulesName == null)
+            putRulesName(rulesName);
+
+        roundsAmount++;
+        reserve().put(ROUND_STARTED).put((byte) seatsAmount).put(shuffleEngineId).put((byte) decksAmount)
+                .putLong(shuffleSeed);
+    }
+
+    private void putRulesName(String rulesName) throws IllegalArgumentException {
+        byte[] bytes = rulesName.getBytes(StandardCharsets.UTF_8);
+
+        if (bytes.length > MAX_RULES_NAME_LENGTH)
+            throw new IllegalArgumentException("RoundJournal: too long rule set's name (" + rulesName + ")");
+
+        this.rulesName = rulesName;
+        buffer.put((byte) bytes.length).put(bytes);
+    }
+
+    void cardDealt(int seat, int cardIndex, boolean isHit) {
+        reserve().put(isHit ? HIT : DEAL).put((byte) seat).put((byte) cardIndex);
+    }
+
+    void stand(int seat) {
+        reserve().put(STAND).put((byte) seat);
+    }
+
+    void bust(int seat) {
+        reserve().put(BUST).put((byte) seat);
+    }
+
+    void winners(int seatsMask) {
+        reserve().put(WINNERS).putInt(seatsMask);
+    }
+
+    public long getEventsAmount() {
+        return eventsAmount;
+    }
+
+    public long getRoundsAmount() {
+        return roundsAmount;
+    }
+
+    // The amount of the segments written by this journal
+    public int getSegmentsAmount() {
+        return segmentNumber - firstSegmentNumber + 1;
+    }
+
+    // Writes the buffered events to the segment (without syncing it)
+    public void flush() throws IOException {
+        writeBuffer();
+    }
+
+    public void sync() throws IOException {
+        writeBuffer();
+        channel.force(false);
+        lastSyncTime = System.nanoTime();
+        hasUnsyncedEvents = false;
+    }
+
+    // Syncs the events when the sync interval has passed since the last sync, returns whether it has
+    public boolean syncIfDue() throws IOException {
+        if (!hasUnsyncedEvents || System.nanoTime() - lastSyncTime < syncIntervalNanos)
+            return false;
+
+        sync();
+        return true;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (!channel.isOpen())
+            return;
+
+        sync();
+        channel.close();
+    }
+}
@@ -0,0 +1,128 @@
+package model;
+
+import java.util.Arrays;
+import java.util.List;
+
+//
+// Model's side of GameMetrics: the rounds are accumulated in plain arrays (the model is confined
+// to one thread) and added to the shared metrics every FLUSH_ROUNDS rounds or FLUSH_INTERVAL_NANOS,
+// whichever comes first. So a round costs a few array increments.
+// The clock is read for one round of DURATION_SAMPLING (and for the first round after a flush,
+// so the rounds of the UI, which are flushed by the time, are timed all).
+// The batch is registered in its GameMetrics, which flushes it from its own thread as well
+// (see GameMetrics.flushBatches), so the batch is synchronized (the lock is uncontended but for those flushes)
+//
+
+final class RoundMetrics {
+    private static final int FLUSH_ROUNDS = 1024;
+    private static final long FLUSH_INTERVAL_NANOS = 1_000_000_000L;
+    private static final int DURATION_SAMPLING = 16;
+
+    private final GameMetrics target;
+
+    private final long[] counters = new long[GameMetrics.COUNTERS_AMOUNT];
+    private final long[] playerPoints = new long[GameMetrics.POINTS_BUCKETS];
+    private final long[] dealerPoints = new long[GameMetrics.POINTS_BUCKETS];
+    private final long[] handSizes = new long[GameMetrics.HAND_SIZE_BUCKETS];
+    private final long[] roundDurations = new long[GameMetrics.DURATION_BUCKETS];
+
+    private int pendingRounds;
+    private long lastFlushNanos;
+
+    RoundMetrics(GameMetrics target) {
+        this.target = target;
+        lastFlushNanos = System.nanoTime();
+
+        target.register(this);
+    }
+
+    GameMetrics getTarget() {
+        return target;
+    }
+
+    synchronized boolean shouldTimeRound() {
+        return pendingRounds % DURATION_SAMPLING == 0;
+    }
+
+    // The same outcomes as SimulationStatistics counts; the duration is negative for a round which isn't timed
+    synchronized void recordRound(List<CardPlayer> cardPlayers, long durationNanos, long nowNanos) {
+        // The dealer takes the first place at the table (see GameModel.appendPlayers)
+        if (cardPlayers.isEmpty() || !cardPlayers.get(0).isDealer())
+            return;
+
+        CardPlayer dealer = cardPlayers.get(0);
+
+        boolean hasWinners = false;
+
+        counters[GameMetrics.ROUNDS]++;
+
+        for (CardPlayer cardPlayer : cardPlayers) {
+            int handSize = cardPlayer.getCardDeck().size();
+            int pointsAmount = Math.min(cardPlayer.getPointsAmount(), GameMetrics.POINTS_BUCKETS - 1);
+
+            counters[GameMetrics.CARDS_DEALT] += handSize;
+            handSizes[Math.min(handSize, GameMetrics.HAND_SIZE_BUCKETS - 1)]++;
+
+            if (cardPlayer.hasWon())
+                hasWinners = true;
+
+            if (cardPlayer.isDealer()) {
+                dealerPoints[pointsAmount]++;
+                continue;
+            }
+
+            playerPoints[pointsAmount]++;
+            counters[GameMetrics.HANDS]++;
+
+            if (cardPlayer.hasWon())
+                counters[GameMetrics.PLAYER_WINS]++;
+            else if (cardPlayer.hasExceeded())
+                counters[GameMetrics.PLAYER_BUSTS]++;
+            else if (cardPlayer.getPointsAmount() < dealer.getPointsAmount() && !dealer.hasExceeded())
+                counters[GameMetrics.PLAYER_LOSSES]++;
+            else
+                counters[GameMetrics.PUSHES]++;
+        }
+
+        if (dealer.hasWon())
+            counters[GameMetrics.DEALER_WINS]++;
+        if (dealer.hasExceeded())
+            counters[GameMetrics.DEALER_BUSTS]++;
+        if (!hasWinners)
+            counters[GameMetrics.ROUNDS_WITHOUT_WINNERS]++;
+
+        pendingRounds++;
+
+        if (durationNanos >= 0) {
+            roundDurations[GameMetrics.durationBucketOf(durationNanos)]++;
+
+            if (nowNanos - lastFlushNanos >= FLUSH_INTERVAL_NANOS) {
+                flush(nowNanos);
+                return;
+            }
+        }
+
+        if (pendingRounds >= FLUSH_ROUNDS)
+            flush();
+    }
+
+    synchronized void flush() {
+        flush(System.nanoTime());
+    }
+
+    private void flush(long nowNanos) {
+        if (pendingRounds == 0)
+            return;
+
+        target.add(counters, playerPoints, dealerPoints, handSizes, roundDurations);
+
+        Arrays.fill(counters, 0);
+        Arrays.fill(playerPoints, 0);
+        Arrays.fill(dealerPoints, 0);
+        Arrays.fill(handSizes, 0);
+        Arrays.fill(roundDurations, 0);
+
+        pendingRounds = 0;
+        lastFlushNanos = nowNanos;
+    }
+}
@@ -0,0 +1,141 @@
+package model;
+
+import java.util.Arrays;
+
+//
+// Compiled rules of the game (see RuleSets): the points limit, the dealer's stand total
+// and the deck with the weights of its cards. The weights are flat tables indexed by
+// the card index (see Card) and by the card name, so the hot paths (Hand, ProbabilityEngine)
+// don't depend on the rule set. The rule set is immutable and shared by the models
+//
+
+public final class RuleSet {
+    public static final int MAX_SCORE_LIMIT = 100;
+    public static final int MAX_WEIGHT_LIMIT = 63;
+
+    // A hand is over before it has more cards than a deck (the server's responses rely on that)
+    public static final int MAX_HAND_SIZE = Card.CARDS_AMOUNT;
+
+    private final String name;
+    private final int maxScore;
+    private final int dealerStandTotal;
+
+    // 0 for the cards which are out of the deck
+    private final byte[] cardWeights;
+    private final int[] cardNameWeights;
+
+    // Card indices of a single deck in the initial order
+    private final byte[] deckCards;
+
+    private final int minWeight;
+    private final int maxWeight;
+
+    // 'cardNameWeights' by CardName's ordinals, 0 excludes the name from the deck
+    RuleSet(String name, int[] cardNameWeights, int maxScore, int dealerStandTotal)
+        throws NullPointerException, IllegalArgumentException {
+        if (name == null)
+            throw new NullPointerException(this.getClass().getName() + ": null name.");
+        if (cardNameWeights.length != Card.CARD_NAMES_AMOUNT)
+            throw new IllegalArgumentException("Error in argument 'cardNameWeights': invalid length.");
+        if (maxScore < 2 || maxScore > MAX_SCORE_LIMIT)
+            throw new IllegalArgumentException("Error in argument 'maxScore': it must be from 2 to " + MAX_SCORE_LIMIT);
+        if (dealerStandTotal < 1 || dealerStandTotal > maxScore)
+            throw new IllegalArgumentException("Error in argument 'dealerStandTotal': it must be from 1 to " + maxScore);
+
+        int minWeight = Integer.MAX_VALUE;
+        int maxWeight = 0;
+        int namesAmount = 0;
+
+        for (int weight : cardNameWeights) {
+            if (weight < 0 || weight > MAX_WEIGHT_LIMIT)
+                throw new IllegalArgumentException("Error in argument 'cardNameWeights': invalid weight " + weight);
+            if (weight == 0)
+                continue;
+
+            minWeight = Math.min(minWeight, weight);
+            maxWeight = Math.max(maxWeight, weight);
+            namesAmount++;
+        }
+
+        if (namesAmount == 0)
+            throw new IllegalArgumentException("Error in argument 'cardNameWeights': the deck is empty.");
+        if (maxScore / minWeight >= MAX_HAND_SIZE)
+            throw new IllegalArgumentException("Error in argument 'cardNameWeights': too small weights.");
+
+        this.name = name;
+        this.maxScore = maxScore;
+        this.dealerStandTotal = dealerStandTotal;
+        this.cardNameWeights = cardNameWeights.clone();
+        this.minWeight = minWeight;
+        this.maxWeight = maxWeight;
+
+        cardWeights = new byte[Card.CARDS_AMOUNT];
+        deckCards = new byte[namesAmount * Card.SUITS_AMOUNT];
+
+        int deckSize = 0;
+        for (int cardIndex = 0; cardIndex < Card.CARDS_AMOUNT; cardIndex++) {
+            int weight = cardNameWeights[cardIndex / Card.SUITS_AMOUNT];
+
+            cardWeights[cardIndex] = (byte) weight;
+            if (weight > 0)
+                deckCards[deckSize++] = (byte) cardIndex;
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getMaxScore() {
+        return maxScore;
+    }
+
+    public int getDealerStandTotal() {
+        return dealerStandTotal;
+    }
+
+    public int getDeckSize() {
+        return deckCards.length;
+    }
+
+    public int getMinWeight() {
+        return minWeight;
+    }
+
+    public int getMaxWeight() {
+        return maxWeight;
+    }
+
+    public int getCardWeight(int cardIndex) {
+        return cardWeights[cardIndex];
+    }
+
+    public boolean isInDeck(int cardIndex) {
+        return cardWeights[cardIndex] > 0;
+    }
+
+    // The tables are shared, the callers must not modify them
+    byte[] getCardWeights() {
+        return cardWeights;
+    }
+
+    int[] getCardNameWeights() {
+        return cardNameWeights;
+    }
+
+    byte[] getDeckCards() {
+        return deckCards;
+    }
+
+    // Rule sets with other names may have the same rules (e.g. for StrategyTable)
+    public boolean hasSameRules(RuleSet ruleSet) {
+        return maxScore == ruleSet.maxScore
+            && dealerStandTotal == ruleSet.dealerStandTotal
+            && Arrays.equals(cardNameWeights, ruleSet.cardNameWeights);
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
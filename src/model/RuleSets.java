@@ -0,0 +1,155 @@
+package model;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+//
+// Rule sets of the game by their names, e.g. from the system property:
+// -Dtwentyone.rules=twenty-one | piquet | blackjack (twenty-one by default).
+// They are defined in resources/rules.properties and compiled once, on the first use.
+// The classic rules are built in, so they are available without the resources (e.g. in the benchmarks)
+// and the constants of GameModel and StrategyTable refer to them
+//
+
+public final class RuleSets {
+    public static final String PROPERTY_NAME = "twentyone.rules";
+    public static final String DEFAULT_PATH = "resources/rules.properties";
+
+    public static final String TWENTY_ONE = "twenty-one";
+
+    private static final String TWENTY_ONE_CARDS = "J:2, Q:3, K:4, 6:6, 7:7, 8:8, 9:9, 10:10, A:11";
+    private static final int TWENTY_ONE_MAX_SCORE = 21;
+    private static final int TWENTY_ONE_DEALER_STAND_TOTAL = 17;
+
+    private static final String RULE_SETS_KEY = "rule-sets";
+    private static final String CARDS_KEY = ".cards";
+    private static final String MAX_SCORE_KEY = ".max-score";
+    private static final String DEALER_STAND_TOTAL_KEY = ".dealer-stand-total";
+
+    // Lazy holder: the built-in rules don't need the file
+    private static final class BuiltIn {
+        private static final RuleSet TWENTY_ONE_RULES = new RuleSet(TWENTY_ONE,
+            parseCards(TWENTY_ONE_CARDS), TWENTY_ONE_MAX_SCORE, TWENTY_ONE_DEALER_STAND_TOTAL);
+    }
+
+    private static final class Loaded {
+        private static final Map<String, RuleSet> RULE_SETS = loadIfExists(DEFAULT_PATH);
+    }
+
+    private RuleSets() {}
+
+    public static RuleSet getTwentyOne() {
+        return BuiltIn.TWENTY_ONE_RULES;
+    }
+
+    public static String getConfiguredName() {
+        return System.getProperty(PROPERTY_NAME, TWENTY_ONE);
+    }
+
+    public static RuleSet fromConfiguration() throws IllegalArgumentException {
+        return get(getConfiguredName());
+    }
+
+    public static List<String> getNames() {
+        return Collections.unmodifiableList(new ArrayList<>(Loaded.RULE_SETS.keySet()));
+    }
+
+    public static RuleSet get(String name) throws IllegalArgumentException {
+        RuleSet ruleSet = Loaded.RULE_SETS.get(name);
+        if (ruleSet == null)
+            throw new IllegalArgumentException("Unknown rule set: " + name);
+
+        return ruleSet;
+    }
+
+    // Card name's symbol and its weight, e.g. "J:2, Q:3, A:11"; the result is indexed by CardName's ordinals
+    static int[] parseCards(String cards) throws IllegalArgumentException {
+        int[] cardNameWeights = new int[Card.CARD_NAMES_AMOUNT];
+
+        for (String card : cards.split(",")) {
+            String[] parts = card.trim().split(":");
+            if (parts.length != 2)
+                throw new IllegalArgumentException("Invalid card of a rule set: " + card);
+
+            CardName cardName = cardNameOf(parts[0].trim());
+            if (cardNameWeights[cardName.ordinal()] != 0)
+                throw new IllegalArgumentException("Duplicate card of a rule set: " + card);
+
+            try {
+                cardNameWeights[cardName.ordinal()] = Integer.parseInt(parts[1].trim());
+            }
+            catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid weight of a rule set's card: " + card, e);
+            }
+        }
+
+        return cardNameWeights;
+    }
+
+    private static CardName cardNameOf(String symbol) throws IllegalArgumentException {
+        for (CardName cardName : CardName.values())
+            if (cardName.getSymbol().equals(symbol))
+                return cardName;
+
+        throw new IllegalArgumentException("Unknown card name: " + symbol);
+    }
+
+    public static Map<String, RuleSet> load(String path) throws IOException, IllegalArgumentException {
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(Path.of(path), StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        }
+
+        Map<String, RuleSet> ruleSets = new LinkedHashMap<>();
+        ruleSets.put(TWENTY_ONE, getTwentyOne());
+
+        for (String name : properties.getProperty(RULE_SETS_KEY, "").split(",")) {
+            name = name.trim();
+            if (name.isEmpty())
+                continue;
+
+            String cards = properties.getProperty(name + CARDS_KEY);
+            if (cards == null)
+                throw new IllegalArgumentException("There are no cards of the rule set " + name + " in " + path);
+
+            try {
+                RuleSet ruleSet = new RuleSet(name, parseCards(cards),
+                    Integer.parseInt(properties.getProperty(name + MAX_SCORE_KEY, "" + TWENTY_ONE_MAX_SCORE).trim()),
+                    Integer.parseInt(properties.getProperty(name + DEALER_STAND_TOTAL_KEY,
+                        "" + TWENTY_ONE_DEALER_STAND_TOTAL).trim()));
+
+                // The built-in instance is kept for the classic rules
+                if (!name.equals(TWENTY_ONE) || !ruleSet.hasSameRules(getTwentyOne()))
+                    ruleSets.put(name, ruleSet);
+            }
+            catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid rule set " + name + " in " + path, e);
+            }
+        }
+
+        return ruleSets;
+    }
+
+    private static Map<String, RuleSet> loadIfExists(String path) {
+        if (new File(path).isFile()) {
+            try {
+                return load(path);
+            }
+            catch (IOException | IllegalArgumentException e) {
+                e.printStackTrace();
+            }
+        }
+
+        return Map.of(TWENTY_ONE, getTwentyOne());
+    }
+}
@@ -0,0 +1,105 @@
+package model;
+
+import javax.crypto.Cipher;
+import javax.crypto.ShortBufferException;
+import javax.crypto.spec.IvParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.SplittableRandom;
+
+//
+// Cryptographically secure mode: the seeds come from the system's entropy (SecureRandom)
+// instead of the model's generator, and the stream is the AES-256-CTR keystream
+// keyed with SHA-256 of the seed. So the deck can't be predicted from the previous rounds,
+// while the recorded seed still reproduces it. Note that the seed of a round is its secret:
+// the journal reveals all the decks, so it must be protected as such
+//
+
+public final class SecureShuffleEngine implements ShuffleEngine {
+    private static final int BLOCK_SIZE = 16;
+    private static final int BUFFER_SIZE = 32 * BLOCK_SIZE;
+
+    private final SecureRandom seedSource = new SecureRandom();
+    private final MessageDigest digest;
+    private final Cipher cipher;
+
+    private final byte[] seedBytes = new byte[Long.BYTES];
+    private final byte[] zeros = new byte[BUFFER_SIZE];
+    private final ByteBuffer keystream = ByteBuffer.allocate(BUFFER_SIZE);
+
+    public SecureShuffleEngine() throws IllegalStateException {
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+            cipher = Cipher.getInstance("AES/CTR/NoPadding");
+        }
+        catch (GeneralSecurityException e) {
+            throw new IllegalStateException("The secure shuffle isn't supported by the JVM", e);
+        }
+
+        reseed(0);
+    }
+
+    @Override
+    public byte getId() {
+        return ShuffleEngines.SECURE_ID;
+    }
+
+    @Override
+    public String getName() {
+        return ShuffleEngines.SECURE;
+    }
+
+    @Override
+    public long nextSeed(SplittableRandom random) {
+        return seedSource.nextLong();
+    }
+
+    @Override
+    public void reseed(long seed) throws IllegalStateException {
+        ByteBuffer.wrap(seedBytes).putLong(seed);
+        byte[] key = digest.digest(seedBytes);
+
+        try {
+            cipher.init(Cipher.ENCRYPT_MODE, new SecretKeySpec(key, "AES"), new IvParameterSpec(new byte[BLOCK_SIZE]));
+        }
+        catch (GeneralSecurityException e) {
+            throw new IllegalStateException("reseed: the cipher can't be initialized", e);
+        }
+
+        keystream.position(keystream.limit());
+    }
+
+    private int nextBits() throws IllegalStateException {
+        if (keystream.remaining() < Integer.BYTES) {
+            try {
+                cipher.update(zeros, 0, BUFFER_SIZE, keystream.array(), 0);
+            }
+            catch (ShortBufferException e) {
+                throw new IllegalStateException(e);
+            }
+
+            keystream.clear();
+        }
+
+        return keystream.getInt();
+    }
+
+    // Rejection sampling: the values above the largest multiple of 'bound' are dropped
+    @Override
+    public int nextInt(int bound) throws IllegalArgumentException {
+        if (bound <= 0)
+            throw new IllegalArgumentException("nextInt: non-positive argument 'bound'");
+
+        long limit = 0x1_0000_0000L - 0x1_0000_0000L % bound;
+        long value;
+
+        do {
+            value = nextBits() & 0xFFFFFFFFL;
+        } while (value >= limit);
+
+        return (int) (value % bound);
+    }
+}
@@ -0,0 +1,25 @@
+package model;
+
+import java.util.SplittableRandom;
+
+//
+// Random stream of the deck's shuffles (see CardDeck.shuffle).
+// Every round is shuffled from its own 64-bit seed, the stream is determined by the seed only,
+// so a recorded seed (see RoundJournal) reproduces the round's deck.
+// An engine has a state, so it's confined to its model like the model itself
+//
+
+public interface ShuffleEngine {
+    // Recorded to the journal, see ShuffleEngines
+    byte getId();
+
+    String getName();
+
+    // The seed of the next round, drawn from the model's generator (or from a secure source)
+    long nextSeed(SplittableRandom random);
+
+    void reseed(long seed);
+
+    // Uniform in [0, bound)
+    int nextInt(int bound);
+}
@@ -0,0 +1,55 @@
+package model;
+
+//
+// Creates the shuffle engines by their names, e.g. from the system property:
+// -Dtwentyone.shuffle=splittable | xoshiro | secure (splittable by default).
+// The ids are recorded to the journal, so they must never change
+//
+
+public final class ShuffleEngines {
+    public static final String PROPERTY_NAME = "twentyone.shuffle";
+
+    public static final String SPLITTABLE = "splittable";
+    public static final String XOSHIRO = "xoshiro";
+    public static final String SECURE = "secure";
+
+    static final byte SPLITTABLE_ID = 0;
+    static final byte XOSHIRO_ID = 1;
+    static final byte SECURE_ID = 2;
+
+    private ShuffleEngines() {}
+
+    public static String getConfiguredName() {
+        return System.getProperty(PROPERTY_NAME, SPLITTABLE);
+    }
+
+    public static ShuffleEngine fromConfiguration() throws IllegalArgumentException {
+        return create(getConfiguredName());
+    }
+
+    public static ShuffleEngine create(String name) throws IllegalArgumentException {
+        switch (name) {
+            case SPLITTABLE:
+                return new SplittableShuffleEngine();
+            case XOSHIRO:
+                return new XoshiroShuffleEngine();
+            case SECURE:
+                return new SecureShuffleEngine();
+            default:
+                throw new IllegalArgumentException("Unknown shuffle engine: " + name);
+        }
+    }
+
+    public static ShuffleEngine create(byte id) throws IllegalArgumentException {
+        switch (id) {
+            case SPLITTABLE_ID:
+                return new SplittableShuffleEngine();
+            case XOSHIRO_ID:
+                return new XoshiroShuffleEngine();
+            case SECURE_ID:
+                return new SecureShuffleEngine();
+            default:
+                throw new IllegalArgumentException("Unknown shuffle engine id: " + id);
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package model;
+
+import java.util.SplittableRandom;
+
+//
+// Headless game engine: plays full rounds on GameModel without any GUI
+// (the same sequence as Controller does: deal, players' turns, dealer's turn, checkWinners)
+//
+
+public class Simulation {
+    public static final int DEFAULT_PLAYER_STAND_TOTAL = 16;
+
+    private final GameModel model;
+    private final long roundsAmount;
+    private final int playersAmount;
+
+    // The players are driven by a strategy as well (the computers use the model's one)
+    private final Strategy playerStrategy;
+
+    public Simulation(long roundsAmount, int playersAmount, long seed) throws IllegalArgumentException {
+        this(roundsAmount, playersAmount, seed, DEFAULT_PLAYER_STAND_TOTAL);
+    }
+
+    public Simulation(long roundsAmount, int playersAmount, long seed, int playerStandTotal)
+        throws IllegalArgumentException {
+        this(roundsAmount, playersAmount, new SplittableRandom(seed),
+            new ThresholdStrategy(playerStandTotal), Strategies.fromConfiguration());
+    }
+
+    Simulation(long roundsAmount, int playersAmount, SplittableRandom random,
+               Strategy playerStrategy, Strategy computerStrategy) throws IllegalArgumentException {
+        if (roundsAmount < 0)
+            throw new IllegalArgumentException("Error in argument 'roundsAmount': negative value.");
+        if (playersAmount <= 0 || playersAmount > GameModel.MAX_PLAYERS_AMOUNT)
+            throw new IllegalArgumentException(
+                "Error in argument 'playersAmount': out of [1, " + GameModel.MAX_PLAYERS_AMOUNT + "].");
+
+        this.model = new GameModel(random);
+        this.model.setComputerStrategy(computerStrategy);
+        this.roundsAmount = roundsAmount;
+        this.playersAmount = playersAmount;
+        this.playerStrategy = playerStrategy;
+    }
+
+    // The rounds are recorded to the journal (which is closed by the caller)
+    public void setJournal(RoundJournal journal) {
+        model.setJournal(journal);
+    }
+
+    // The rounds are recorded to the metrics (the shared ones by default), null turns the recording off
+    public void setMetrics(GameMetrics metrics) {
+        model.setMetrics(metrics);
+    }
+
+    public SimulationStatistics run() {
+        SimulationStatistics statistics = new SimulationStatistics();
+
+        // The simulation may be created on one thread and run on another one
+        model.bindToCurrentThread();
+
+        long startTime = System.nanoTime();
+        for (long i = 0; i < roundsAmount; i++)
+            playRound(statistics);
+        statistics.setElapsedNanos(System.nanoTime() - startTime);
+        model.flushMetrics();
+
+        return statistics;
+    }
+
+    void playRound(SimulationStatistics statistics) {
+        model.reload();
+        model.run(playersAmount);
+
+        int cardsDealt = model.getCardDeckSize();
+
+        // Everybody takes a single card at the beginning (the dealer goes first)
+        for (CardPlayer cardPlayer : model.getCardPlayers())
+            model.dealCard(cardPlayer);
+
+        CardPlayer dealer = model.getCardPlayer(0);
+        boolean dealerShouldPlay = false;
+
+        for (CardPlayer cardPlayer : model.getCardPlayers()) {
+            if (cardPlayer.isDealer())
+                continue;
+
+            playPlayerTurn(cardPlayer);
+
+            if (cardPlayer.hasPassed())
+                dealerShouldPlay = true;
+        }
+
+        // The dealer has nobody to play against when all the players have exceeded or won
+        if (dealerShouldPlay) {
+            model.playComputerTurn(dealer);
+            model.checkWinners();
+        }
+        else
+            model.finishRound();
+
+        statistics.recordRound(dealer, model.getCardPlayers(), cardsDealt - model.getCardDeckSize());
+    }
+
+    private void playPlayerTurn(CardPlayer player) {
+        while (!player.hasFinished()) {
+            if (model.isCardDeckEmpty() || !playerStrategy.shouldHit(player, model)) {
+                player.setPass(true);
+                break;
+            }
+
+            model.dealCard(player);
+            player.analyzeTurn();
+        }
+    }
+}
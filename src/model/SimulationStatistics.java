@@ -0,0 +1,141 @@
+package model;
+
+public class SimulationStatistics {
+    private long roundsAmount;
+    private long handsAmount;
+    private long cardsDealt;
+
+    // Outcomes of the players' hands (dealer excluded):
+    private long playerWins;
+    private long playerLosses;
+    private long playerBusts;
+    private long pushes;
+
+    // Outcomes of the dealer:
+    private long dealerWins;
+    private long dealerBusts;
+    private long roundsWithoutWinners;
+
+    private long elapsedNanos;
+
+    public long getRoundsAmount() {
+        return roundsAmount;
+    }
+
+    public long getHandsAmount() {
+        return handsAmount;
+    }
+
+    public long getCardsDealt() {
+        return cardsDealt;
+    }
+
+    public long getPlayerWins() {
+        return playerWins;
+    }
+
+    public long getPlayerLosses() {
+        return playerLosses;
+    }
+
+    public long getPlayerBusts() {
+        return playerBusts;
+    }
+
+    public long getPushes() {
+        return pushes;
+    }
+
+    public long getDealerWins() {
+        return dealerWins;
+    }
+
+    public long getDealerBusts() {
+        return dealerBusts;
+    }
+
+    public long getRoundsWithoutWinners() {
+        return roundsWithoutWinners;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    void setElapsedNanos(long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public double getRoundsPerSecond() {
+        if (elapsedNanos == 0)
+            return 0;
+
+        return roundsAmount * 1e9 / elapsedNanos;
+    }
+
+    void recordRound(CardPlayer dealer, Iterable<CardPlayer> cardPlayers, int cardsDealt) {
+        boolean hasWinners = false;
+
+        roundsAmount++;
+        this.cardsDealt += cardsDealt;
+
+        for (CardPlayer cardPlayer : cardPlayers) {
+            if (cardPlayer.hasWon())
+                hasWinners = true;
+
+            if (cardPlayer.isDealer())
+                continue;
+
+            handsAmount++;
+
+            if (cardPlayer.hasWon())
+                playerWins++;
+            else if (cardPlayer.hasExceeded())
+                playerBusts++;
+            else if (cardPlayer.getPointsAmount() < dealer.getPointsAmount() && !dealer.hasExceeded())
+                playerLosses++;
+            else
+                pushes++;
+        }
+
+        if (dealer.hasWon())
+            dealerWins++;
+        if (dealer.hasExceeded())
+            dealerBusts++;
+        if (!hasWinners)
+            roundsWithoutWinners++;
+    }
+
+    // Accumulators of different threads are combined after the run
+    void merge(SimulationStatistics other) {
+        roundsAmount += other.roundsAmount;
+        handsAmount += other.handsAmount;
+        cardsDealt += other.cardsDealt;
+        playerWins += other.playerWins;
+        playerLosses += other.playerLosses;
+        playerBusts += other.playerBusts;
+        pushes += other.pushes;
+        dealerWins += other.dealerWins;
+        dealerBusts += other.dealerBusts;
+        roundsWithoutWinners += other.roundsWithoutWinners;
+    }
+
+    private static String percentage(long amount, long total) {
+        return String.format("%.2f%%", total == 0 ? 0.0D : amount * 100.0D / total);
+    }
+
+    @Override
+    public String toString() {
+        return "Rounds: " + roundsAmount
+            + " (" + String.format("%.0f", getRoundsPerSecond()) + " rounds/s)\n"
+            + "Hands: " + handsAmount + ", cards dealt: " + cardsDealt + "\n"
+            + "Player wins: " + playerWins + " (" + percentage(playerWins, handsAmount) + ")\n"
+            + "Player losses: " + playerLosses + " (" + percentage(playerLosses, handsAmount) + ")\n"
+            + "Player busts: " + playerBusts + " (" + percentage(playerBusts, handsAmount) + ")\n"
+            + "Pushes: " + pushes + " (" + percentage(pushes, handsAmount) + ")\n"
+            + "Dealer wins: " + dealerWins + " (" + percentage(dealerWins, roundsAmount) + ")\n"
+            + "Dealer busts: " + dealerBusts + " (" + percentage(dealerBusts, roundsAmount) + ")\n"
+            + "Rounds without winners: " + roundsWithoutWinners
+            + " (" + percentage(roundsWithoutWinners, roundsAmount) + ")";
+    }
+}
@@ -0,0 +1,62 @@
+package model;
+
+import java.util.SplittableRandom;
+
+//
+// The default engine: SplittableRandom (SplitMix64) seeded per round.
+// It gives the same decks as the model did before the engines were pluggable: the generator
+// is SplittableRandom's own one (new SplittableRandom(seed).nextInt(bound)), kept in one long
+// of state, so reseeding allocates nothing
+//
+
+public final class SplittableShuffleEngine implements ShuffleEngine {
+    // SplittableRandom's gamma of a generator created from a seed
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private long seed;
+
+    @Override
+    public byte getId() {
+        return ShuffleEngines.SPLITTABLE_ID;
+    }
+
+    @Override
+    public String getName() {
+        return ShuffleEngines.SPLITTABLE;
+    }
+
+    @Override
+    public long nextSeed(SplittableRandom random) {
+        return random.nextLong();
+    }
+
+    @Override
+    public void reseed(long seed) {
+        this.seed = seed;
+    }
+
+    private int nextInt() {
+        long z = seed += GOLDEN_GAMMA;
+        z = (z ^ (z >>> 33)) * 0x62A9D9ED799705F5L;
+
+        return (int) (((z ^ (z >>> 28)) * 0xCB24D0A5C88C35B3L) >>> 32);
+    }
+
+    // The same rejection as SplittableRandom.nextInt(bound), so the values are the same as its ones
+    @Override
+    public int nextInt(int bound) throws IllegalArgumentException {
+        if (bound <= 0)
+            throw new IllegalArgumentException("nextInt: non-positive argument 'bound'");
+
+        int r = nextInt();
+        int m = bound - 1;
+
+        if ((bound & m) == 0)
+            return r & m;
+
+        for (int u = r >>> 1; u + m - (r = u % bound) < 0; u = nextInt() >>> 1)
+            ;
+
+        return r;
+    }
+}
@@ -0,0 +1,52 @@
+package model;
+
+//
+// Creates the strategies by their names, e.g. from the system property:
+// -Dtwentyone.strategy=heuristic | threshold[:standTotal] | table | probability
+// (by default the table is used when it's available in the resources)
+//
+
+public final class Strategies {
+    public static final String PROPERTY_NAME = "twentyone.strategy";
+
+    public static final String HEURISTIC = "heuristic";
+    public static final String THRESHOLD = "threshold";
+    public static final String TABLE = "table";
+    public static final String PROBABILITY = "probability";
+
+    private Strategies() {}
+
+    public static String getConfiguredName() {
+        String defaultName = StrategyTable.getDefault() != null ? TABLE : HEURISTIC;
+
+        return System.getProperty(PROPERTY_NAME, defaultName);
+    }
+
+    public static Strategy fromConfiguration() throws IllegalArgumentException {
+        return create(getConfiguredName());
+    }
+
+    public static Strategy create(String name) throws IllegalArgumentException {
+        int indexOfColon = name.indexOf(':');
+        String parameter = indexOfColon >= 0 ? name.substring(indexOfColon + 1) : null;
+
+        switch (indexOfColon >= 0 ? name.substring(0, indexOfColon) : name) {
+            case HEURISTIC:
+                return new HeuristicStrategy();
+            case THRESHOLD:
+                return new ThresholdStrategy(parameter != null
+                    ? Integer.parseInt(parameter)
+                    : GameModel.MAX_DEALER_TOTAL);
+            case TABLE:
+                StrategyTable strategyTable = StrategyTable.getDefault();
+                if (strategyTable == null)
+                    throw new IllegalArgumentException("There is no strategy table at " + StrategyTable.DEFAULT_PATH);
+
+                return new TableStrategy(strategyTable);
+            case PROBABILITY:
+                return new ProbabilityStrategy();
+            default:
+                throw new IllegalArgumentException("Unknown strategy: " + name);
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package model;
+
+//
+// Decision policy of a computer player: whether to take another card or to pass.
+// The fixed rules (exceeding the limit, reaching MAX_SCORE, the dealer's MAX_DEALER_TOTAL)
+// are applied by the player before the strategy is asked.
+// The implementations are final and a model keeps exactly one of them, so in a simulation run
+// (or a JMH fork) the call site sees a single class and the JIT inlines it
+//
+
+public interface Strategy {
+    boolean shouldHit(CardPlayer cardPlayer, GameModel model);
+}
@@ -0,0 +1,146 @@
+package model;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.stream.IntStream;
+
+//
+// Precomputed hit/stand decisions of the computer, indexed by
+// (own total, opponent's value, dealer flag, remaining deck bucket).
+// The opponent's value is the total of the player to beat for the dealer
+// and the dealer's up-card weight for anybody else.
+// The table is generated with ProbabilityEngine and stored as a compact binary file:
+// a header (magic, version, dimensions) followed by one byte per decision
+//
+
+public class StrategyTable {
+    public static final String DEFAULT_PATH = "resources/strategy-table.bin";
+    public static final int DECK_BUCKETS = 4;
+
+    private static final int MAGIC = 0x32315354; // "21ST"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 4 * Integer.BYTES;
+
+    private static final byte STAND = 0;
+    private static final byte HIT = 1;
+
+    private static final int TOTALS = GameModel.MAX_SCORE + 1;
+    private static final int CELLS_AMOUNT = TOTALS * TOTALS * 2 * DECK_BUCKETS;
+
+    // Lazy holder: the file is read once, on the first use of the default table
+    private static final class DefaultTable {
+        private static final StrategyTable INSTANCE = loadIfExists(DEFAULT_PATH);
+    }
+
+    private final ByteBuffer decisions;
+
+    private StrategyTable(ByteBuffer decisions) {
+        this.decisions = decisions;
+    }
+
+    // Returns null when there is no table in the resources
+    public static StrategyTable getDefault() {
+        return DefaultTable.INSTANCE;
+    }
+
+    static int indexOf(int total, int opponentValue, boolean isDealer, int deckBucket) {
+        return ((total * TOTALS + opponentValue) * 2 + (isDealer ? 1 : 0)) * DECK_BUCKETS + deckBucket;
+    }
+
+    public static int deckBucketOf(int cardDeckSize) {
+        return deckBucketOf(cardDeckSize, GameModel.DECK_SIZE);
+    }
+
+    // The buckets are relative to the full shoe, so a table computed for a single deck suits any shoe
+    public static int deckBucketOf(int cardDeckSize, int shoeSize) {
+        return Math.min(cardDeckSize * DECK_BUCKETS / shoeSize, DECK_BUCKETS - 1);
+    }
+
+    public boolean shouldHit(int total, int opponentValue, boolean isDealer, int deckBucket) {
+        if (total < 0 || total >= TOTALS)
+            return false;
+
+        opponentValue = Math.max(0, Math.min(opponentValue, TOTALS - 1));
+
+        return decisions.get(HEADER_SIZE + indexOf(total, opponentValue, isDealer, deckBucket)) == HIT;
+    }
+
+    // A representative deck for the bucket: the same amount of cards of every name
+    private static long bucketComposition(int deckBucket) {
+        int[] counts = new int[Card.CARD_NAMES_AMOUNT];
+        int count = Math.max(1, Math.round((float) Card.SUITS_AMOUNT * (deckBucket + 1) / DECK_BUCKETS));
+
+        for (int i = 0; i < counts.length; i++)
+            counts[i] = count;
+
+        return CardDeck.packComposition(counts);
+    }
+
+    // Every core computes its part of the cells with its own (not synchronized) engine
+    public static StrategyTable generate() {
+        ThreadLocal<ProbabilityEngine> engines = ThreadLocal.withInitial(ProbabilityEngine::new);
+        ByteBuffer decisions = ByteBuffer.allocate(HEADER_SIZE + CELLS_AMOUNT);
+
+        decisions.putInt(MAGIC).putInt(VERSION).putInt(TOTALS).putInt(DECK_BUCKETS);
+
+        byte[] cells = new byte[CELLS_AMOUNT];
+        IntStream.range(0, TOTALS).parallel().forEach(total -> {
+            ProbabilityEngine engine = engines.get();
+
+            for (int opponentValue = 0; opponentValue < TOTALS; opponentValue++)
+                for (int deckBucket = 0; deckBucket < DECK_BUCKETS; deckBucket++) {
+                    long composition = bucketComposition(deckBucket);
+
+                    boolean dealerHits = engine.shouldHit(total, composition, opponentValue);
+                    boolean playerHits = engine.shouldHitAgainstDealer(
+                        total, composition, opponentValue, GameModel.MAX_DEALER_TOTAL);
+
+                    cells[indexOf(total, opponentValue, true, deckBucket)] = dealerHits ? HIT : STAND;
+                    cells[indexOf(total, opponentValue, false, deckBucket)] = playerHits ? HIT : STAND;
+                }
+        });
+
+        decisions.put(cells).flip();
+
+        return new StrategyTable(decisions);
+    }
+
+    public void save(String path) throws IOException {
+        try (FileChannel channel = new RandomAccessFile(path, "rw").getChannel()) {
+            channel.truncate(0);
+            channel.write(decisions.duplicate().rewind());
+        }
+    }
+
+    public static StrategyTable load(String path) throws IOException, IllegalArgumentException {
+        try (FileChannel channel = new RandomAccessFile(path, "r").getChannel()) {
+            MappedByteBuffer decisions = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+
+            if (decisions.capacity() != HEADER_SIZE + CELLS_AMOUNT
+                || decisions.getInt(0) != MAGIC
+                || decisions.getInt(Integer.BYTES) != VERSION
+                || decisions.getInt(2 * Integer.BYTES) != TOTALS
+                || decisions.getInt(3 * Integer.BYTES) != DECK_BUCKETS)
+                throw new IllegalArgumentException("Invalid strategy table: " + path);
+
+            return new StrategyTable(decisions);
+        }
+    }
+
+    private static StrategyTable loadIfExists(String path) {
+        if (!new File(path).isFile())
+            return null;
+
+        try {
+            return load(path);
+        }
+        catch (IOException | IllegalArgumentException e) {
+            e.printStackTrace();
+            return null;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package model;
+
+// A single lookup in the precomputed StrategyTable.
+// The table is computed for the classic rules, other rule sets are played with ProbabilityStrategy
+public final class TableStrategy implements Strategy {
+    private final StrategyTable strategyTable;
+    private ProbabilityStrategy otherRulesStrategy;
+
+    public TableStrategy(StrategyTable strategyTable) throws NullPointerException {
+        if (strategyTable == null)
+            throw new NullPointerException(this.getClass().getName() + ": null strategy table.");
+
+        this.strategyTable = strategyTable;
+    }
+
+    @Override
+    public boolean shouldHit(CardPlayer cardPlayer, GameModel model) {
+        RuleSet rules = model.getRules();
+        if (rules != RuleSets.getTwentyOne() && !rules.hasSameRules(RuleSets.getTwentyOne())) {
+            if (otherRulesStrategy == null)
+                otherRulesStrategy = new ProbabilityStrategy();
+
+            return otherRulesStrategy.shouldHit(cardPlayer, model);
+        }
+
+        return strategyTable.shouldHit(cardPlayer.getPointsAmount(),
+            model.getOpponentValue(cardPlayer),
+            cardPlayer.isDealer(),
+            StrategyTable.deckBucketOf(model.getCardDeckSize(), model.getShoeSize()));
+    }
+}
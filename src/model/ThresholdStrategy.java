@@ -0,0 +1,19 @@
+package model;
+
+// Takes cards until the total reaches the threshold
+public final class ThresholdStrategy implements Strategy {
+    private final int standTotal;
+
+    public ThresholdStrategy(int standTotal) {
+        this.standTotal = standTotal;
+    }
+
+    public int getStandTotal() {
+        return standTotal;
+    }
+
+    @Override
+    public boolean shouldHit(CardPlayer cardPlayer, GameModel model) {
+        return cardPlayer.getPointsAmount() < standTotal;
+    }
+}
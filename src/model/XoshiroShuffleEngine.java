@@ -0,0 +1,86 @@
+package model;
+
+import java.util.SplittableRandom;
+
+//
+// xoshiro256** (Blackman, Vigna): four longs of state, no allocation on reseeding.
+// The state is expanded from the seed with SplitMix64, as the authors recommend.
+// Bounded values use Lemire's multiply-shift method with rejection, so they are unbiased
+//
+
+public final class XoshiroShuffleEngine implements ShuffleEngine {
+    private long s0;
+    private long s1;
+    private long s2;
+    private long s3;
+
+    public XoshiroShuffleEngine() {
+        reseed(0);
+    }
+
+    @Override
+    public byte getId() {
+        return ShuffleEngines.XOSHIRO_ID;
+    }
+
+    @Override
+    public String getName() {
+        return ShuffleEngines.XOSHIRO;
+    }
+
+    @Override
+    public long nextSeed(SplittableRandom random) {
+        return random.nextLong();
+    }
+
+    private static long splitMix64(long x) {
+        x = (x ^ (x >>> 30)) * 0xBF58476D1CE4E5B9L;
+        x = (x ^ (x >>> 27)) * 0x94D049BB133111EBL;
+
+        return x ^ (x >>> 31);
+    }
+
+    @Override
+    public void reseed(long seed) {
+        final long gamma = 0x9E3779B97F4A7C15L;
+
+        s0 = splitMix64(seed += gamma);
+        s1 = splitMix64(seed += gamma);
+        s2 = splitMix64(seed += gamma);
+        s3 = splitMix64(seed + gamma);
+    }
+
+    long nextLong() {
+        long result = Long.rotateLeft(s1 * 5, 7) * 9;
+        long t = s1 << 17;
+
+        s2 ^= s0;
+        s3 ^= s1;
+        s1 ^= s2;
+        s0 ^= s3;
+        s2 ^= t;
+        s3 = Long.rotateLeft(s3, 45);
+
+        return result;
+    }
+
+    @Override
+    public int nextInt(int bound) throws IllegalArgumentException {
+        if (bound <= 0)
+            throw new IllegalArgumentException("nextInt: non-positive argument 'bound'");
+
+        long product = (nextLong() >>> 32) * bound;
+        long low = product & 0xFFFFFFFFL;
+
+        if (low < bound) {
+            long threshold = (0x1_0000_0000L - bound) % bound;
+
+            while (low < threshold) {
+                product = (nextLong() >>> 32) * bound;
+                low = product & 0xFFFFFFFFL;
+            }
+        }
+
+        return (int) (product >>> 32);
+    }
+}
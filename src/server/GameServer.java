@@ -0,0 +1,234 @@
+package server;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+
+//
+// Headless game server: every connection is a table with its own GameSession.
+// All the sessions are served by one selector thread (a request takes microseconds),
+// so thousands of tables cost a few kilobytes of buffers each and no threads at all
+//
+
+public class GameServer {
+    private static final int BACKLOG = 4096;
+    private static final int INPUT_BUFFER_SIZE = 256;
+    private static final int OUTPUT_BUFFER_SIZE = 64 * Protocol.MAX_RESPONSE_SIZE;
+    private static final long ACCEPT_BACKOFF_MILLIS = 100;
+
+    private final InetSocketAddress address;
+    private volatile Selector selector;
+    private volatile boolean isStopped;
+    private int sessionsAmount;
+    private long requestsAmount;
+    private boolean isAcceptPaused;
+    private long acceptResumeTime;
+
+    private static final class Connection {
+        private final SocketChannel channel;
+        private final GameSession session;
+        private final ByteBuffer input;
+        private final ByteBuffer output;
+
+        private Connection(SocketChannel channel) {
+            this.channel = channel;
+            session = new GameSession();
+            input = ByteBuffer.allocate(INPUT_BUFFER_SIZE);
+            output = ByteBuffer.allocate(OUTPUT_BUFFER_SIZE);
+        }
+    }
+
+    public GameServer(int port) {
+        this(new InetSocketAddress(port));
+    }
+
+    public GameServer(InetSocketAddress address) {
+        this.address = address;
+    }
+
+    public int getSessionsAmount() {
+        return sessionsAmount;
+    }
+
+    public long getRequestsAmount() {
+        return requestsAmount;
+    }
+
+    // Serves the connections on the current thread until stop() is called
+    public void run() throws IOException {
+        try (Selector selector = Selector.open();
+             ServerSocketChannel serverChannel = ServerSocketChannel.open()) {
+            this.selector = selector;
+
+            serverChannel.bind(address, BACKLOG);
+            serverChannel.configureBlocking(false);
+            SelectionKey serverKey = serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+
+            while (!isStopped) {
+                selector.select(isAcceptPaused ? ACCEPT_BACKOFF_MILLIS : 0);
+
+                if (isAcceptPaused && System.nanoTime() - acceptResumeTime >= 0) {
+                    isAcceptPaused = false;
+                    serverKey.interestOps(SelectionKey.OP_ACCEPT);
+                }
+
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+
+                    try {
+                        if (!key.isValid())
+                            continue;
+
+                        if (key.isAcceptable())
+                            accept(key);
+                        else {
+                            if (key.isReadable())
+                                read(key);
+                            if (key.isValid() && key.isWritable())
+                                write(key);
+                        }
+                    }
+                    catch (IOException e) {
+                        close(key);
+                    }
+                    catch (RuntimeException e) {
+                        // A bug in one session must not take down the other tables
+                        e.printStackTrace();
+                        if (key.attachment() != null)
+                            close(key);
+                    }
+                }
+            }
+
+            for (SelectionKey key : selector.keys())
+                if (key.attachment() != null)
+                    close(key);
+        }
+    }
+
+    public void stop() {
+        isStopped = true;
+
+        Selector selector = this.selector;
+        if (selector != null)
+            selector.wakeup();
+    }
+
+    // A failed connection is closed alone, the server key stays registered.
+    // When accept() itself fails (usually with too many open files) the pending
+    // connection would wake the selector again at once, so accepting pauses for a while
+    private void accept(SelectionKey serverKey) {
+        ServerSocketChannel serverChannel = (ServerSocketChannel) serverKey.channel();
+
+        while (true) {
+            SocketChannel channel;
+            try {
+                channel = serverChannel.accept();
+            }
+            catch (IOException e) {
+                e.printStackTrace();
+
+                isAcceptPaused = true;
+                acceptResumeTime = System.nanoTime() + ACCEPT_BACKOFF_MILLIS * 1_000_000;
+                serverKey.interestOps(0);
+                return;
+            }
+
+            if (channel == null)
+                return;
+
+            try {
+                channel.configureBlocking(false);
+                channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+                channel.register(selector, SelectionKey.OP_READ).attach(new Connection(channel));
+                sessionsAmount++;
+            }
+            catch (IOException e) {
+                e.printStackTrace();
+
+                try {
+                    channel.close();
+                }
+                catch (IOException closeException) {
+                    closeException.printStackTrace();
+                }
+            }
+        }
+    }
+
+    private void read(SelectionKey key) throws IOException {
+        Connection connection = (Connection) key.attachment();
+
+        if (connection.channel.read(connection.input) < 0) {
+            close(key);
+            return;
+        }
+
+        process(key, connection);
+    }
+
+    // The requests are answered while there is room for the responses,
+    // the rest waits in the input buffer until the client reads what was sent
+    private void process(SelectionKey key, Connection connection) throws IOException {
+        ByteBuffer input = connection.input;
+        ByteBuffer output = connection.output;
+
+        input.flip();
+        while (input.hasRemaining() && output.remaining() >= Protocol.MAX_RESPONSE_SIZE) {
+            byte request = input.get();
+
+            connection.session.writeResponse(connection.session.handle(request), output);
+            requestsAmount++;
+        }
+        input.compact();
+
+        write(key);
+    }
+
+    private void write(SelectionKey key) throws IOException {
+        Connection connection = (Connection) key.attachment();
+        ByteBuffer output = connection.output;
+
+        output.flip();
+        connection.channel.write(output);
+        output.compact();
+
+        if (output.position() > 0) {
+            // Back-pressure: the client doesn't read, so its requests are not read either
+            key.interestOps(SelectionKey.OP_WRITE);
+        }
+        else if (key.interestOps() != SelectionKey.OP_READ) {
+            key.interestOps(SelectionKey.OP_READ);
+
+            if (connection.input.position() > 0)
+                process(key, connection);
+        }
+    }
+
+    private void close(SelectionKey key) {
+        if (!key.isValid())
+            return;
+
+        key.cancel();
+
+        try {
+            key.channel().close();
+        }
+        catch (IOException e) {
+            e.printStackTrace();
+        }
+
+        if (key.attachment() != null) {
+            ((Connection) key.attachment()).session.close();
+            sessionsAmount--;
+        }
+    }
+}
@@ -0,0 +1,230 @@
+package server;
+
+import model.CardPlayer;
+import model.GameModel;
+import model.Hand;
+
+import java.nio.ByteBuffer;
+
+//
+// Headless equivalent of Controller for one table: the dealer and one player.
+// A session owns its GameModel, so it must be used by one thread at a time (see GameModel)
+//
+
+public class GameSession {
+    private static final int DEALER_INDEX = 0;
+    private static final int PLAYER_INDEX = 1;
+
+    private final GameModel model;
+    private boolean isRoundOver;
+
+    // Pause before every dealer's card (Controller's timer), zero plays the dealer's turn at once
+    private long dealerDelayMillis;
+    private long pacingNanos;
+
+    public GameSession() {
+        this(new GameModel());
+    }
+
+    public GameSession(GameModel model) {
+        this.model = model;
+        isRoundOver = false;
+    }
+
+    public GameModel getModel() {
+        return model;
+    }
+
+    public long getDealerDelayMillis() {
+        return dealerDelayMillis;
+    }
+
+    public void setDealerDelayMillis(long dealerDelayMillis) throws IllegalArgumentException {
+        if (dealerDelayMillis < 0)
+            throw new IllegalArgumentException("Error in argument 'dealerDelayMillis': negative value.");
+
+        this.dealerDelayMillis = dealerDelayMillis;
+    }
+
+    // Time spent in the dealer's pauses since the previous call: it is cosmetic,
+    // so the callers keep it out of the actions' latencies (see SessionManager)
+    public long takePacingNanos() {
+        long nanos = pacingNanos;
+        pacingNanos = 0;
+
+        return nanos;
+    }
+
+    // The session's finished rounds are added to the metrics at once (see GameModel.flushMetrics)
+    public void close() {
+        model.flushMetrics();
+    }
+
+    private CardPlayer getDealer() {
+        return model.getCardPlayer(DEALER_INDEX);
+    }
+
+    private CardPlayer getPlayer() {
+        return model.getCardPlayer(PLAYER_INDEX);
+    }
+
+    // Same as Controller.invokeGameRoutine: both take one card, the player moves first
+    public byte newRound() {
+        model.reload();
+        model.run();
+
+        model.dealCard(getDealer());
+        model.dealCard(getPlayer());
+        isRoundOver = false;
+
+        return Protocol.OK;
+    }
+
+    public byte hit() {
+        if (!model.isRun())
+            return Protocol.NO_ROUND;
+        if (isRoundOver)
+            return Protocol.ROUND_FINISHED;
+        if (model.isCardDeckEmpty())
+            return Protocol.EMPTY_DECK;
+
+        CardPlayer player = getPlayer();
+
+        model.dealCard(player);
+        player.analyzeTurn();
+
+        if (player.hasExceeded() || player.hasWon()) {
+            model.finishRound();
+            isRoundOver = true;
+        }
+
+        return Protocol.OK;
+    }
+
+    // The dealer's turn is played before the response (there are no dialogs here)
+    public byte stand() {
+        if (!model.isRun())
+            return Protocol.NO_ROUND;
+        if (isRoundOver)
+            return Protocol.ROUND_FINISHED;
+
+        getPlayer().setPass(true);
+        playDealerTurn();
+
+        if (model.isAllPlayersFinished())
+            model.checkWinners();
+
+        isRoundOver = true;
+
+        return Protocol.OK;
+    }
+
+    // Same as Controller.checkComputerCondition: one card per tick.
+    // The pause blocks the session's thread, so a paced session needs a thread of its own
+    // (a virtual one, see SessionManager)
+    private void playDealerTurn() {
+        CardPlayer dealer = getDealer();
+
+        if (dealerDelayMillis == 0) {
+            model.playComputerTurn(dealer);
+            return;
+        }
+
+        dealer.analyzeTurn();
+
+        while (!dealer.hasFinished()) {
+            long sleepStartTime = System.nanoTime();
+            try {
+                Thread.sleep(dealerDelayMillis);
+            }
+            catch (InterruptedException e) {
+                // The session is being closed: the rest of the turn is played at once
+                Thread.currentThread().interrupt();
+                model.playComputerTurn(dealer);
+                return;
+            }
+            finally {
+                pacingNanos += System.nanoTime() - sleepStartTime;
+            }
+
+            if (model.isCardDeckEmpty()) {
+                dealer.setPass(true);
+                break;
+            }
+
+            model.dealCard(dealer);
+            dealer.analyzeTurn();
+        }
+    }
+
+    public byte handle(byte request) {
+        switch (request) {
+            case Protocol.NEW_ROUND:
+                return newRound();
+            case Protocol.HIT:
+                return hit();
+            case Protocol.STAND:
+                return stand();
+            case Protocol.STATE:
+                return Protocol.OK;
+            default:
+                return Protocol.UNKNOWN_REQUEST;
+        }
+    }
+
+    private int getFlags() {
+        if (!model.isRun())
+            return 0;
+
+        CardPlayer player = getPlayer();
+        CardPlayer dealer = getDealer();
+
+        int flags = Protocol.ROUND_STARTED;
+
+        if (player.hasPassed())
+            flags |= Protocol.PLAYER_PASSED;
+        if (player.hasExceeded())
+            flags |= Protocol.PLAYER_EXCEEDED;
+        if (player.hasWon())
+            flags |= Protocol.PLAYER_WON;
+        if (dealer.hasPassed())
+            flags |= Protocol.DEALER_PASSED;
+        if (dealer.hasExceeded())
+            flags |= Protocol.DEALER_EXCEEDED;
+        if (dealer.hasWon())
+            flags |= Protocol.DEALER_WON;
+        if (isRoundOver)
+            flags |= Protocol.ROUND_OVER;
+
+        return flags;
+    }
+
+    private static void writeHand(Hand hand, ByteBuffer output) {
+        output.put((byte) hand.size());
+
+        for (int i = 0; i < hand.size(); i++)
+            output.put((byte) hand.get(i).getIndex());
+    }
+
+    // Writes the framed response with the table's state (see Protocol),
+    // the buffer must have at least Protocol.MAX_RESPONSE_SIZE bytes remaining
+    public void writeResponse(byte status, ByteBuffer output) {
+        int lengthPosition = output.position();
+        output.put((byte) 0);
+
+        output.put(status);
+        output.put((byte) getFlags());
+        output.putShort((short) model.getCardDeckSize());
+
+        if (model.isRun()) {
+            output.put((byte) getPlayer().getPointsAmount());
+            output.put((byte) getDealer().getPointsAmount());
+            writeHand(getPlayer().getCardDeck(), output);
+            writeHand(getDealer().getCardDeck(), output);
+        }
+        else
+            output.put((byte) 0).put((byte) 0).put((byte) 0).put((byte) 0);
+
+        output.put(lengthPosition, (byte) (output.position() - lengthPosition - 1));
+    }
+}
@@ -0,0 +1,78 @@
+package server;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+//
+// Log-linear histogram of latencies in nanoseconds: every power of two is split
+// into SUB_BUCKETS linear buckets, so a percentile is accurate within 1/SUB_BUCKETS (12.5 %).
+// Recording is a single atomic increment, so any amount of threads may record concurrently
+//
+
+public class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKETS_AMOUNT = (Long.SIZE - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS_AMOUNT);
+
+    static int bucketOf(long value) {
+        if (value < SUB_BUCKETS)
+            return (int) Math.max(value, 0);
+
+        int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        int subBucket = (int) (value >>> exponent) & (SUB_BUCKETS - 1);
+
+        return (exponent + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    // The largest value which falls into the bucket
+    static long upperBoundOf(int bucket) {
+        if (bucket < SUB_BUCKETS)
+            return bucket;
+
+        int exponent = bucket / SUB_BUCKETS - 1;
+        long subBucket = bucket % SUB_BUCKETS;
+
+        return ((SUB_BUCKETS + subBucket + 1) << exponent) - 1;
+    }
+
+    public void record(long nanos) {
+        counts.incrementAndGet(bucketOf(nanos));
+    }
+
+    public long getCount() {
+        long count = 0;
+
+        for (int i = 0; i < BUCKETS_AMOUNT; i++)
+            count += counts.get(i);
+
+        return count;
+    }
+
+    // Returns 0 when nothing has been recorded yet
+    public long getPercentile(double percentile) throws IllegalArgumentException {
+        if (percentile < 0.0 || percentile > 100.0)
+            throw new IllegalArgumentException("Error in argument 'percentile': out of [0, 100].");
+
+        long count = getCount();
+        if (count == 0)
+            return 0;
+
+        long rank = Math.max(1, (long) Math.ceil(count * percentile / 100.0));
+        long seen = 0;
+
+        for (int i = 0; i < BUCKETS_AMOUNT; i++) {
+            seen += counts.get(i);
+
+            if (seen >= rank)
+                return upperBoundOf(i);
+        }
+
+        return upperBoundOf(BUCKETS_AMOUNT - 1);
+    }
+
+    public void reset() {
+        for (int i = 0; i < BUCKETS_AMOUNT; i++)
+            counts.set(i, 0);
+    }
+}
@@ -0,0 +1,159 @@
+package server;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+
+//
+// Local load-generator client: opens many tables at once and plays every one of them
+// (one request in flight per table) with the simple rule "hit below the stand total".
+// All the tables are driven by one selector thread, like the server's ones
+//
+
+public class LoadGenerator {
+    public static final int DEFAULT_STAND_TOTAL = 16;
+
+    private final InetSocketAddress address;
+    private final int tablesAmount;
+    private final long roundsPerTable;
+
+    private long requestsAmount;
+    private long roundsAmount;
+    private long errorsAmount;
+    private long latencyNanosSum;
+    private long maxLatencyNanos;
+    private final LatencyHistogram latencies = new LatencyHistogram();
+    private long elapsedNanos;
+
+    private static final class Table {
+        private final SocketChannel channel;
+        private final ByteBuffer request = ByteBuffer.allocate(1);
+        private final ByteBuffer response = ByteBuffer.allocate(Protocol.MAX_RESPONSE_SIZE);
+        private long roundsAmount;
+        private long requestTime;
+
+        private Table(SocketChannel channel) {
+            this.channel = channel;
+        }
+    }
+
+    public LoadGenerator(InetSocketAddress address, int tablesAmount, long roundsPerTable)
+        throws IllegalArgumentException {
+        if (tablesAmount <= 0)
+            throw new IllegalArgumentException("Error in argument 'tablesAmount': non-positive value.");
+        if (roundsPerTable <= 0)
+            throw new IllegalArgumentException("Error in argument 'roundsPerTable': non-positive value.");
+
+        this.address = address;
+        this.tablesAmount = tablesAmount;
+        this.roundsPerTable = roundsPerTable;
+    }
+
+    public void run() throws IOException {
+        try (Selector selector = Selector.open()) {
+            int activeTables = 0;
+
+            for (int i = 0; i < tablesAmount; i++) {
+                SocketChannel channel = SocketChannel.open(address);
+                channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+                channel.configureBlocking(false);
+                channel.register(selector, SelectionKey.OP_READ, new Table(channel));
+                activeTables++;
+            }
+
+            long startTime = System.nanoTime();
+
+            for (SelectionKey key : selector.keys())
+                send((Table) key.attachment(), Protocol.NEW_ROUND);
+
+            while (activeTables > 0) {
+                selector.select();
+
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+
+                    if (!receive(key))
+                        activeTables--;
+                }
+            }
+
+            elapsedNanos = System.nanoTime() - startTime;
+        }
+    }
+
+    private void send(Table table, byte request) throws IOException {
+        table.request.clear();
+        table.request.put(request).flip();
+        table.requestTime = System.nanoTime();
+
+        // A single byte always fits into an empty socket buffer
+        table.channel.write(table.request);
+        requestsAmount++;
+    }
+
+    // Returns false when the table has played all its rounds
+    private boolean receive(SelectionKey key) throws IOException {
+        Table table = (Table) key.attachment();
+        ByteBuffer response = table.response;
+
+        if (table.channel.read(response) < 0)
+            throw new IOException("Server has closed the connection");
+
+        // The response is complete when its length byte and all the bytes it counts are here
+        if (response.position() == 0 || response.position() < 1 + (response.get(0) & 0xFF))
+            return true;
+
+        long latency = System.nanoTime() - table.requestTime;
+        latencyNanosSum += latency;
+        maxLatencyNanos = Math.max(maxLatencyNanos, latency);
+        latencies.record(latency);
+
+        byte status = response.get(1 + Protocol.STATUS_OFFSET);
+        int flags = response.get(1 + Protocol.FLAGS_OFFSET) & 0xFF;
+        int playerTotal = response.get(1 + Protocol.PLAYER_TOTAL_OFFSET);
+        response.clear();
+
+        if (status != Protocol.OK)
+            errorsAmount++;
+
+        if (status != Protocol.OK || (flags & Protocol.ROUND_OVER) != 0) {
+            if (status == Protocol.OK)
+                table.roundsAmount++;
+
+            if (table.roundsAmount >= roundsPerTable) {
+                roundsAmount += table.roundsAmount;
+                key.cancel();
+                table.channel.close();
+                return false;
+            }
+
+            send(table, Protocol.NEW_ROUND);
+        }
+        else
+            send(table, playerTotal < DEFAULT_STAND_TOTAL ? Protocol.HIT : Protocol.STAND);
+
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        double seconds = elapsedNanos / 1e9;
+
+        return "Tables: " + tablesAmount
+            + ", rounds: " + roundsAmount
+            + ", requests: " + requestsAmount
+            + ", errors: " + errorsAmount + "\n"
+            + String.format("Elapsed: %.3f s, %.0f requests/s, %.0f rounds/s%n",
+                seconds, requestsAmount / seconds, roundsAmount / seconds)
+            + String.format("Latency: mean %.1f us, p99 %.1f us, max %.1f us",
+                latencyNanosSum / 1e3 / Math.max(1, requestsAmount),
+                latencies.getPercentile(99.0) / 1e3, maxLatencyNanos / 1e3);
+    }
+}
@@ -0,0 +1,55 @@
+package server;
+
+import model.RuleSet;
+
+//
+// Compact binary protocol of the game server.
+// A request is a single opcode byte, so requests can be pipelined without any framing.
+// A response is framed by its length (one unsigned byte, not counting itself):
+//
+//   [length] [status] [flags] [deck size: 2 bytes] [player's total] [dealer's total]
+//   [player's cards amount] [card index]... [dealer's cards amount] [card index]...
+//
+// The deck size is big-endian (a shoe holds up to 288 cards).
+// Card indices are the ones of model.Card (name * 4 + suit)
+//
+
+public final class Protocol {
+    // Requests:
+    public static final byte NEW_ROUND = 1;
+    public static final byte HIT = 2;
+    public static final byte STAND = 3;
+    public static final byte STATE = 4;
+
+    // Statuses:
+    public static final byte OK = 0;
+    public static final byte NO_ROUND = 1;
+    public static final byte ROUND_FINISHED = 2;
+    public static final byte EMPTY_DECK = 3;
+    public static final byte UNKNOWN_REQUEST = 4;
+
+    // Flags:
+    public static final int ROUND_STARTED = 1;
+    public static final int PLAYER_PASSED = 1 << 1;
+    public static final int PLAYER_EXCEEDED = 1 << 2;
+    public static final int PLAYER_WON = 1 << 3;
+    public static final int DEALER_PASSED = 1 << 4;
+    public static final int DEALER_EXCEEDED = 1 << 5;
+    public static final int DEALER_WON = 1 << 6;
+    public static final int ROUND_OVER = 1 << 7;
+
+    // Offsets in a response (after the length byte):
+    public static final int STATUS_OFFSET = 0;
+    public static final int FLAGS_OFFSET = 1;
+    public static final int DECK_SIZE_OFFSET = 2;
+    public static final int PLAYER_TOTAL_OFFSET = 4;
+    public static final int DEALER_TOTAL_OFFSET = 5;
+    public static final int CARDS_OFFSET = 6;
+
+    // A hand is over before it holds more cards than a deck, whatever the rule set and the shoe are
+    public static final int MAX_RESPONSE_SIZE = 1 + CARDS_OFFSET + 2 + 2 * RuleSet.MAX_HAND_SIZE;
+
+    public static final int DEFAULT_PORT = 2121;
+
+    private Protocol() {}
+}
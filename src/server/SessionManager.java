@@ -0,0 +1,240 @@
+package server;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+//
+// Thread-per-table alternative of GameServer: every table's game loop (the requests,
+// the paced dealer's turn) is plain blocking code on its own virtual thread,
+// which costs a few kilobytes of heap while the table waits for a human.
+// New tables are admitted by a semaphore: when all the places are taken the acceptor waits
+// (so the clients queue up in the socket's backlog) and then rejects the connection.
+// Tables without requests for the idle timeout are evicted
+//
+
+public class SessionManager {
+    private static final long BYTES_PER_GIGABYTE = 1L << 30;
+
+    private final int maxSessions;
+    private final long idleTimeoutMillis;
+    private final long admissionTimeoutMillis;
+    private final long dealerDelayMillis;
+
+    private final Semaphore admissions;
+    private final ThreadFactory tableThreads = Thread.ofVirtual().name("table-", 0).factory();
+    private volatile ServerSocket serverSocket;
+
+    private final AtomicInteger activeSessions = new AtomicInteger();
+    private final AtomicInteger peakSessions = new AtomicInteger();
+    private final AtomicLong acceptedSessions = new AtomicLong();
+    private final AtomicLong rejectedSessions = new AtomicLong();
+    private final AtomicLong evictedSessions = new AtomicLong();
+    private final LatencyHistogram actionLatencies = new LatencyHistogram();
+    private final LatencyHistogram dealerPacing = new LatencyHistogram();
+
+    public SessionManager(int maxSessions, long idleTimeoutMillis, long admissionTimeoutMillis,
+                          long dealerDelayMillis) throws IllegalArgumentException {
+        if (maxSessions <= 0)
+            throw new IllegalArgumentException("Error in argument 'maxSessions': non-positive value.");
+        if (idleTimeoutMillis <= 0)
+            throw new IllegalArgumentException("Error in argument 'idleTimeoutMillis': non-positive value.");
+        if (admissionTimeoutMillis < 0)
+            throw new IllegalArgumentException("Error in argument 'admissionTimeoutMillis': negative value.");
+        if (dealerDelayMillis < 0)
+            throw new IllegalArgumentException("Error in argument 'dealerDelayMillis': negative value.");
+
+        this.maxSessions = maxSessions;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        this.admissionTimeoutMillis = admissionTimeoutMillis;
+        this.dealerDelayMillis = dealerDelayMillis;
+
+        admissions = new Semaphore(maxSessions);
+    }
+
+    // Accepts the tables on the current thread until stop() is called
+    public void listen(InetSocketAddress address) throws IOException {
+        try (ServerSocket serverSocket = new ServerSocket()) {
+            this.serverSocket = serverSocket;
+            serverSocket.bind(address, maxSessions);
+
+            while (!serverSocket.isClosed()) {
+                Socket socket;
+                try {
+                    socket = serverSocket.accept();
+                }
+                catch (IOException e) {
+                    if (serverSocket.isClosed())
+                        break;
+                    throw e;
+                }
+
+                serve(socket);
+            }
+        }
+    }
+
+    public void stop() {
+        ServerSocket serverSocket = this.serverSocket;
+
+        if (serverSocket != null) {
+            try {
+                serverSocket.close();
+            }
+            catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    // Returns false when the table is rejected (and the socket is closed)
+    public boolean serve(Socket socket) {
+        boolean isAdmitted;
+        try {
+            isAdmitted = admissions.tryAcquire(admissionTimeoutMillis, TimeUnit.MILLISECONDS);
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            isAdmitted = false;
+        }
+
+        if (!isAdmitted) {
+            rejectedSessions.incrementAndGet();
+            closeQuietly(socket);
+            return false;
+        }
+
+        acceptedSessions.incrementAndGet();
+        peakSessions.accumulateAndGet(activeSessions.incrementAndGet(), Math::max);
+
+        tableThreads.newThread(() -> runTable(socket)).start();
+
+        return true;
+    }
+
+    // The game loop of a table, the session (and its model) is confined to this virtual thread
+    private void runTable(Socket socket) {
+        GameSession session = new GameSession();
+        session.setDealerDelayMillis(dealerDelayMillis);
+
+        try (socket) {
+            socket.setSoTimeout((int) Math.min(idleTimeoutMillis, Integer.MAX_VALUE));
+            socket.setTcpNoDelay(true);
+
+            InputStream input = new BufferedInputStream(socket.getInputStream());
+            OutputStream output = new BufferedOutputStream(socket.getOutputStream());
+            ByteBuffer response = ByteBuffer.allocate(Protocol.MAX_RESPONSE_SIZE);
+
+            while (true) {
+                int request;
+                try {
+                    request = input.read();
+                }
+                catch (SocketTimeoutException e) {
+                    evictedSessions.incrementAndGet();
+                    break;
+                }
+
+                if (request < 0)
+                    break;
+
+                long startTime = System.nanoTime();
+
+                response.clear();
+                session.writeResponse(session.handle((byte) request), response);
+                output.write(response.array(), 0, response.position());
+
+                // Pipelined requests are answered with one write
+                if (input.available() == 0)
+                    output.flush();
+
+                // The dealer's pauses are the configured delay, not the server's latency
+                long pacingNanos = session.takePacingNanos();
+                if (pacingNanos > 0)
+                    dealerPacing.record(pacingNanos);
+
+                actionLatencies.record(System.nanoTime() - startTime - pacingNanos);
+            }
+        }
+        catch (IOException e) {
+            // The client has gone, the table is closed as usual
+        }
+        finally {
+            session.close();
+            activeSessions.decrementAndGet();
+            admissions.release();
+        }
+    }
+
+    private static void closeQuietly(Socket socket) {
+        try {
+            socket.close();
+        }
+        catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    public int getActiveSessions() {
+        return activeSessions.get();
+    }
+
+    public int getPeakSessions() {
+        return peakSessions.get();
+    }
+
+    public long getAcceptedSessions() {
+        return acceptedSessions.get();
+    }
+
+    public long getRejectedSessions() {
+        return rejectedSessions.get();
+    }
+
+    public long getEvictedSessions() {
+        return evictedSessions.get();
+    }
+
+    public LatencyHistogram getActionLatencies() {
+        return actionLatencies;
+    }
+
+    // The dealer's pauses of every action which has played the dealer's turn
+    public LatencyHistogram getDealerPacing() {
+        return dealerPacing;
+    }
+
+    // Approximate: the used heap includes the garbage which hasn't been collected yet
+    public double getSessionsPerHeapGigabyte() {
+        Runtime runtime = Runtime.getRuntime();
+        long usedHeap = runtime.totalMemory() - runtime.freeMemory();
+
+        return usedHeap == 0 ? 0.0 : (double) getActiveSessions() * BYTES_PER_GIGABYTE / usedHeap;
+    }
+
+    @Override
+    public String toString() {
+        return "Sessions: active " + getActiveSessions()
+            + " (peak " + getPeakSessions() + " of " + maxSessions + ")"
+            + ", accepted " + getAcceptedSessions()
+            + ", rejected " + getRejectedSessions()
+            + ", evicted " + getEvictedSessions()
+            + String.format(", %.0f sessions/GB of heap", getSessionsPerHeapGigabyte())
+            + String.format(", actions: %d, p99 latency %.1f us",
+                actionLatencies.getCount(), actionLatencies.getPercentile(99.0) / 1e3)
+            + (dealerPacing.getCount() == 0 ? "" : String.format(", dealer's pacing p99 %.1f ms",
+                dealerPacing.getPercentile(99.0) / 1e6));
+    }
+}
@@ -3,26 +3,35 @@ package view;
 import controller.Controller;
 import model.ResBundle;
 
-import javax.imageio.ImageIO;
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.ActionListener;
+import java.awt.event.ComponentAdapter;
+import java.awt.event.ComponentEvent;
 import java.awt.event.KeyEvent;
-import java.io.File;
-import java.io.IOException;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.ResourceBundle;
 
 public class Application extends JFrame {
     public static final int FRAME_WIDTH = 720;
     public static final int FRAME_HEIGHT = 500;
 
-    private final Image appIcon = ImageIO.read(new File("resources/favicon.png"));
+    private final AssetLoader assetLoader;
+    private final Image appIcon;
 
     private ResourceBundle resBundle;
     private ResourceBundle dialogs;
     private JPanel mainPanel;
 
+    // The components whose texts are taken from resBundle, by their keys (see applyLocale)
+    private final Map<JComponent, String> localizedComponents = new LinkedHashMap<>();
+
     // Application's menu bar:
     private JMenuItem playGameMenuItem;
     private JMenuItem exitGameMenuItem;
@@ -33,16 +42,15 @@ public class Application extends JFrame {
     private JPanel gameDeskPanel; // i.e. 'left panel'
     private JPanel controlsPanel; // i.e. 'right panel'
 
-    // Elements of the gameDeskPanel (top):
-    private LayeredPane dealerCardsPane;
-    private JLabel dealerTotalPtsLabel;
+    // The only element of the gameDeskPanel: the dealer's seat and the players' ones
+    private CardTable cardTable;
 
-    // Elements of the gameDeskPanel (bottom):
-    private LayeredPane playerCardsPane;
-    private JLabel playerTotalPtsLabel;
+    // The names of the players by their seats (see setSeatNames), null for the dealer and one player
+    private List<String> seatNames;
 
     // Elements of the controlsPanel (top):
     private JPanel cardDeckPanel;
+    private JLabel cardDeckImageLabel;
     private JLabel cardDeckSizeLabel;
 
     // Elements of the controlsPanel (bottom):
@@ -55,12 +63,20 @@ public class Application extends JFrame {
     private JPanel initPanel;
     private JButton initLaunchButton;
     private JButton initExitButton;
+    private JProgressBar initProgressBar;
+
+    // The notifications over the whole frame
+    private NotificationLayer notificationLayer;
 
-    public Application(Locale locale) throws IllegalArgumentException, IOException {
+    // Waits only for the bundles and the icon, the card images are still being loaded by 'assetLoader'
+    public Application(AssetLoader assetLoader) throws IllegalStateException {
         super("21 Points - The Game");
 
-        resBundle = ResBundle.getBundle("resources/MessageBundle", locale);
-        dialogs = ResBundle.getBundle("resources/DialogMessages", locale);
+        this.assetLoader = assetLoader;
+
+        resBundle = assetLoader.getMessages();
+        dialogs = assetLoader.getDialogs();
+        appIcon = assetLoader.getAppIcon();
 
         this.setIconImage(appIcon);
         this.getContentPane().setLayout(new BoxLayout(this.getContentPane(), BoxLayout.PAGE_AXIS));
@@ -74,25 +90,48 @@ public class Application extends JFrame {
         assembleControlsPanel();
 
         assembleInitPanel();
+        assembleNotificationLayer();
+        printFrameMetricsAtExitIfEnabled();
 
         this.setContentPane(mainPanel);
         this.pack();
-    }
 
-    public LayeredPane getDealerCardsPane() {
-        return dealerCardsPane;
+        this.addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowOpened(WindowEvent e) {
+                assetLoader.markFirstFrame();
+            }
+        });
+
+        assetLoader.setProgressListener(initProgressBar::setValue);
+        assetLoader.whenCardImagesLoaded(this::onCardImagesLoaded);
     }
 
-    public LayeredPane getPlayerCardsPane() {
-        return playerCardsPane;
+    // The game can't be launched until all the card images are decoded
+    private void onCardImagesLoaded() {
+        initProgressBar.setValue(assetLoader.getImagesAmount());
+        initProgressBar.setVisible(false);
+
+        cardDeckImageLabel.setIcon(CardImage.getCardBackImage());
+
+        initLaunchButton.setEnabled(true);
+        playGameMenuItem.setEnabled(true);
+
+        assetLoader.printMetricsIfEnabled();
     }
 
-    public JLabel getPlayerTotalPtsLabel() {
-        return playerTotalPtsLabel;
+    // The frame times of the table's animations are printed at exit with -Dtwentyone.animation.metrics=true
+    private void printFrameMetricsAtExitIfEnabled() {
+        if (!Boolean.getBoolean(FrameMetrics.PROPERTY_NAME))
+            return;
+
+        FrameMetrics frameMetrics = cardTable.getFrameMetrics();
+        Runtime.getRuntime().addShutdownHook(new Thread(
+            () -> System.out.println(frameMetrics.getReport()), "animation-metrics"));
     }
 
-    public JLabel getDealerTotalPtsLabel() {
-        return dealerTotalPtsLabel;
+    public CardTable getCardTable() {
+        return cardTable;
     }
 
     public JLabel getCardDeckSizeLabel() {
@@ -134,22 +173,23 @@ public class Application extends JFrame {
     private void assembleMenuBar() {
         JMenuBar menuBar = new JMenuBar();
 
-        JMenu gameMenu = new JMenu(resBundle.getString("menu-game"));
+        JMenu gameMenu = localize(new JMenu(), "menu-game");
         gameMenu.setMnemonic(KeyEvent.VK_G);
 
-        playGameMenuItem = new JMenuItem(resBundle.getString("menu-item-play-game"));
+        playGameMenuItem = localize(new JMenuItem(), "menu-item-play-game");
         playGameMenuItem.setActionCommand(Controller.ButtonClickListener.NEW_GAME);
+        playGameMenuItem.setEnabled(false);
 
-        exitGameMenuItem = new JMenuItem(resBundle.getString("common-exit"));
+        exitGameMenuItem = localize(new JMenuItem(), "common-exit");
         exitGameMenuItem.setActionCommand(Controller.ButtonClickListener.EXIT_GAME_NO_DIALOG);
 
-        JMenu helpMenu = new JMenu(resBundle.getString("menu-help"));
+        JMenu helpMenu = localize(new JMenu(), "menu-help");
         helpMenu.setMnemonic(KeyEvent.VK_H);
 
-        howToPlayMenuItem = new JMenuItem(resBundle.getString("menu-item-how-to-play"));
+        howToPlayMenuItem = localize(new JMenuItem(), "menu-item-how-to-play");
         howToPlayMenuItem.setActionCommand(Controller.ButtonClickListener.HOW_TO_PLAY);
 
-        aboutMenuItem = new JMenuItem(resBundle.getString("menu-item-about"));
+        aboutMenuItem = localize(new JMenuItem(), "menu-item-about");
         aboutMenuItem.setActionCommand(Controller.ButtonClickListener.ABOUT);
 
         gameMenu.add(playGameMenuItem);
@@ -157,60 +197,94 @@ public class Application extends JFrame {
         helpMenu.add(howToPlayMenuItem);
         helpMenu.add(aboutMenuItem);
 
+        JMenu languageMenu = localize(new JMenu(), "menu-language");
+        languageMenu.setMnemonic(KeyEvent.VK_L);
+
+        ButtonGroup languageGroup = new ButtonGroup();
+        for (Locale locale : assetLoader.getLocales()) {
+            String language = locale.getDisplayLanguage(locale);
+
+            JRadioButtonMenuItem languageMenuItem = new JRadioButtonMenuItem(
+                language.substring(0, 1).toUpperCase(locale) + language.substring(1),
+                locale.equals(ResBundle.getLocale())
+            );
+            languageMenuItem.addActionListener(e -> applyLocale(locale));
+
+            languageGroup.add(languageMenuItem);
+            languageMenu.add(languageMenuItem);
+        }
+
         menuBar.add(gameMenu);
+        menuBar.add(languageMenu);
         menuBar.add(helpMenu);
 
         this.setJMenuBar(menuBar);
     }
 
-    private void assembleGameDeskPanel() {
-        // Main panel:
+    private <T extends JComponent> T localize(T component, String key) {
+        localizedComponents.put(component, key);
+        setText(component, resBundle.getString(key));
 
-        gameDeskPanel = GuiCreator.createPanel(new GridLayout(2, 1));
+        return component;
+    }
 
-        // Sub-panel (top):
+    private static void setText(JComponent component, String text) {
+        if (component instanceof AbstractButton)
+            ((AbstractButton) component).setText(text);
+        else if (component instanceof JLabel)
+            ((JLabel) component).setText(text);
+    }
 
-        JPanel dealerPanel = GuiCreator.createPanel(new GridBagLayout());
+    // The bundles are taken from the ResBundle's cache, so switching doesn't read the disk
+    public void applyLocale(Locale locale) {
+        ResBundle.setLocale(locale);
 
-        dealerCardsPane = GuiCreator.createLayeredPane(
-            LayeredPane.DEFAULT_DIMENSION,
-            Component.CENTER_ALIGNMENT
-        );
+        resBundle = ResBundle.getBundle(AssetLoader.MESSAGES_BASE_NAME);
+        dialogs = ResBundle.getBundle(AssetLoader.DIALOGS_BASE_NAME);
 
-        JPanel dealerPointsPanel = new JPanel();
-        dealerPointsPanel.add(new JLabel(resBundle.getString("label-total-pts-dealer")));
+        for (Map.Entry<JComponent, String> entry : localizedComponents.entrySet())
+            setText(entry.getKey(), resBundle.getString(entry.getValue()));
 
-        dealerTotalPtsLabel = new JLabel();
-        dealerPointsPanel.add(dealerTotalPtsLabel);
+        applySeatTitles();
 
-        dealerPanel.add(dealerCardsPane, new GBConstraints(0, 0));
-        dealerPanel.add(dealerPointsPanel, new GBConstraints(0, 1));
+        mainPanel.revalidate();
+        mainPanel.repaint();
+    }
 
-        // Sub-panel (bottom):
+    private void assembleGameDeskPanel() {
+        gameDeskPanel = GuiCreator.createPanel(new BorderLayout());
 
-        JPanel playerPanel = GuiCreator.createPanel(new GridBagLayout());
+        cardTable = new CardTable(2);
+        applySeatTitles();
 
-        playerCardsPane = GuiCreator.createLayeredPane(
-            LayeredPane.DEFAULT_DIMENSION,
-            Component.CENTER_ALIGNMENT
-        );
+        gameDeskPanel.add(cardTable, BorderLayout.CENTER);
+    }
 
-        JPanel playerPointsPanel = new JPanel();
-        playerPointsPanel.add(new JLabel(resBundle.getString("label-total-pts-player")));
+    // The seat 0 is the dealer's one, the players are named when there are several of them
+    private void applySeatTitles() {
+        cardTable.setTitle(0, resBundle.getString("label-total-pts-dealer"));
 
-        playerTotalPtsLabel = new JLabel();
-        playerPointsPanel.add(playerTotalPtsLabel);
+        for (int seat = 1; seat < cardTable.getSeatsAmount(); seat++)
+            cardTable.setTitle(seat, seatNames != null
+                ? seatNames.get(seat) + " " + resBundle.getString("label-total-pts-seat")
+                : resBundle.getString("label-total-pts-player"));
+    }
 
-        playerPanel.add(playerCardsPane, new GBConstraints(0, 0));
-        playerPanel.add(playerPointsPanel, new GBConstraints(0, 1));
+    // The names of the players by their seats, the dealer's one first (see GameModel.appendPlayers).
+    // The table is rearranged (and cleared) only when the amount of the seats changes
+    public void setSeatNames(List<String> seatNames) throws IllegalArgumentException {
+        if (seatNames.size() < 2 || seatNames.size() > CardTable.MAX_SEATS_AMOUNT)
+            throw new IllegalArgumentException(
+                "Error in argument 'seatNames': the size is out of [2, " + CardTable.MAX_SEATS_AMOUNT + "].");
 
-        // Adding all the elements from above to the gameDeskPanel:
+        if (seatNames.size() != cardTable.getSeatsAmount())
+            cardTable.setSeatsAmount(seatNames.size());
 
-        gameDeskPanel.add(dealerPanel);
-        gameDeskPanel.add(playerPanel);
+        this.seatNames = seatNames.size() > 2 ? new ArrayList<>(seatNames) : null;
+        applySeatTitles();
     }
 
-    private void assembleControlsPanel() throws IOException {
+    private void assembleControlsPanel() {
         // Main panel:
 
         controlsPanel = GuiCreator.createPanel(new GridLayout(2, 1));
@@ -219,10 +293,8 @@ public class Application extends JFrame {
 
         cardDeckPanel = GuiCreator.createPanel(new GridBagLayout());
 
-        Image image = ImageIO.read(new File("resources/cards-back/blue.png"));
-        image = image.getScaledInstance(128, 192, Image.SCALE_SMOOTH);
-
-        JLabel cardDeckImageLabel = new JLabel(new ImageIcon(image), JLabel.CENTER);
+        cardDeckImageLabel = new JLabel((Icon) null, JLabel.CENTER);
+        cardDeckImageLabel.setPreferredSize(CardTable.CARD_DIMENSION);
 
         JLabel cardDeckSizeStaticLabel = new JLabel("Cards:", JLabel.RIGHT);
 
@@ -233,6 +305,7 @@ public class Application extends JFrame {
         gbc.gridwidth = 2;
 
         cardDeckPanel.add(cardDeckImageLabel, gbc);
+        cardTable.setDealOrigin(cardDeckImageLabel);
 
         gbc.gridwidth = 1;
         gbc.gridy = 1;
@@ -248,18 +321,18 @@ public class Application extends JFrame {
 
         JPanel controlButtonsPanel = GuiCreator.createPanel(new GridBagLayout());
 
-        hitButton = new JButton(resBundle.getString("button-hit"));
+        hitButton = localize(new JButton(), "button-hit");
         hitButton.setActionCommand(Controller.ButtonClickListener.GET_CARD);
         hitButton.setEnabled(false);
 
-        standButton = new JButton(resBundle.getString("button-pass"));
+        standButton = localize(new JButton(), "button-pass");
         standButton.setActionCommand(Controller.ButtonClickListener.PASS_ROUND);
         standButton.setEnabled(false);
 
-        playButton = new JButton(resBundle.getString("button-new-game"));
+        playButton = localize(new JButton(), "button-new-game");
         playButton.setActionCommand(Controller.ButtonClickListener.NEW_GAME);
 
-        exitButton = new JButton(resBundle.getString("common-exit"));
+        exitButton = localize(new JButton(), "common-exit");
         exitButton.setActionCommand(Controller.ButtonClickListener.EXIT_GAME);
 
         // Placing the items with GridBagConstraints:
@@ -295,19 +368,38 @@ public class Application extends JFrame {
         controlsPanel.add(controlButtonsPanel);
     }
 
+    private void assembleNotificationLayer() {
+        notificationLayer = new NotificationLayer();
+
+        JLayeredPane layeredPane = this.getLayeredPane();
+        layeredPane.add(notificationLayer, JLayeredPane.POPUP_LAYER);
+
+        // JLayeredPane has no layout manager, so the layer follows its size
+        layeredPane.addComponentListener(new ComponentAdapter() {
+            @Override
+            public void componentResized(ComponentEvent e) {
+                notificationLayer.setBounds(0, 0, layeredPane.getWidth(), layeredPane.getHeight());
+            }
+        });
+    }
+
     private void assembleInitPanel() {
         initPanel = new JPanel(new GridBagLayout());
 
-        JLabel greetingsLabel = new JLabel(resBundle.getString("common-greetings"), JLabel.CENTER);
+        JLabel greetingsLabel = localize(new JLabel("", JLabel.CENTER), "common-greetings");
         greetingsLabel.setFont(greetingsLabel.getFont().deriveFont(16.0f));
 
         Image image = appIcon.getScaledInstance(256, 256, Image.SCALE_SMOOTH);
         JLabel pictureLabel = new JLabel(new ImageIcon(image), JLabel.CENTER);
 
-        initLaunchButton = new JButton(resBundle.getString("common-launch-game"));
+        initLaunchButton = localize(new JButton(), "common-launch-game");
         initLaunchButton.setActionCommand(Controller.ButtonClickListener.NEW_GAME);
+        initLaunchButton.setEnabled(false);
+
+        initProgressBar = new JProgressBar(0, assetLoader.getImagesAmount());
+        initProgressBar.setValue(assetLoader.getLoadedImagesAmount());
 
-        initExitButton = new JButton(resBundle.getString("common-exit"));
+        initExitButton = localize(new JButton(), "common-exit");
         initExitButton.setActionCommand(Controller.ButtonClickListener.EXIT_GAME);
 
         // Adding components to initPanel using GridBagConstraints:
@@ -338,48 +430,20 @@ public class Application extends JFrame {
 
         initPanel.add(initExitButton, gbc);
 
+        gbc.gridy = 4;
+
+        initPanel.add(initProgressBar, gbc);
+
         mainPanel.add(initPanel);
     }
 
     public void reloadPanes() {
-        dealerCardsPane.reset();
-        playerCardsPane.reset();
+        cardTable.clear();
+        notificationLayer.clear();
     }
 
     // JOptionPane's dialogs:
 
-    public int showWinGameDialog(String winnerName) {
-        Object[] options = {
-            dialogs.getString("common-play"),
-            dialogs.getString("common-quit")
-        };
-
-        return JOptionPane.showOptionDialog(this,
-            winnerName + ", " + dialogs.getString("win-1"),
-            winnerName + " " + dialogs.getString("win-2"),
-            JOptionPane.YES_NO_OPTION,
-            JOptionPane.INFORMATION_MESSAGE,
-            null,
-            options, options[0]
-        );
-    }
-
-    public int showLoseGameDialog(String loserName) {
-        Object[] options = {
-            dialogs.getString("common-play"),
-            dialogs.getString("common-quit")
-        };
-
-        return JOptionPane.showOptionDialog(this,
-            loserName + ", " + dialogs.getString("lose-1"),
-            loserName + " " +  dialogs.getString("lose-2"),
-            JOptionPane.YES_NO_OPTION,
-            JOptionPane.INFORMATION_MESSAGE,
-            null,
-            options, options[0]
-        );
-    }
-
     public int showExitDialog() {
         return JOptionPane.showConfirmDialog(this,
             dialogs.getString("exit-1"),
@@ -407,46 +471,49 @@ public class Application extends JFrame {
         );
     }
 
-    public void showEmptyDeckWarningDialog() {
-        JOptionPane.showMessageDialog(this,
-            dialogs.getString("empty-deck-1"),
-            dialogs.getString("empty-deck-2"),
-            JOptionPane.WARNING_MESSAGE
-        );
+    // Notifications (see NotificationLayer), they never block the game:
+
+    public NotificationLayer getNotificationLayer() {
+        return notificationLayer;
     }
 
-    public void showComputerPassedDialog(String computerName) {
-        JOptionPane.showMessageDialog(this,
-            computerName + " " + dialogs.getString("computer-passed")
-        );
+    public void notifyWin(String winnerName) {
+        notificationLayer.post(NotificationLayer.Level.SUCCESS,
+            winnerName + ", " + dialogs.getString("win-1"));
     }
 
-    public void showComputerExceededDialog(String computerName) {
-        JOptionPane.showMessageDialog(this,
-            computerName + " " + dialogs.getString("computer-exceeded")
-        );
+    public void notifyLose(String loserName) {
+        notificationLayer.post(NotificationLayer.Level.WARNING,
+            loserName + ", " + dialogs.getString("lose-1"));
     }
 
-    public void showComputerWinDialog(String computerName) {
-        JOptionPane.showMessageDialog(this,
-            computerName + " " + dialogs.getString("computer-won")
-        );
+    public void notifyEmptyDeck() {
+        notificationLayer.post(NotificationLayer.Level.WARNING, dialogs.getString("empty-deck-1"));
     }
 
-    public void showWinnerDialog(String playerName, String pointsAmount) {
-        JOptionPane.showMessageDialog(this,
+    public void notifyComputerPassed(String computerName) {
+        notificationLayer.post(NotificationLayer.Level.INFO,
+            computerName + " " + dialogs.getString("computer-passed"));
+    }
+
+    public void notifyComputerExceeded(String computerName) {
+        notificationLayer.post(NotificationLayer.Level.INFO,
+            computerName + " " + dialogs.getString("computer-exceeded"));
+    }
+
+    public void notifyComputerWon(String computerName) {
+        notificationLayer.post(NotificationLayer.Level.INFO,
+            computerName + " " + dialogs.getString("computer-won"));
+    }
+
+    public void notifyWinner(String playerName, String pointsAmount) {
+        notificationLayer.post(NotificationLayer.Level.SUCCESS,
             playerName + " " + dialogs.getString("winner-1") + " "
-                + pointsAmount + " " + dialogs.getString("winner-2"),
-                dialogs.getString("winner-3"),
-            JOptionPane.INFORMATION_MESSAGE
-        );
+                + pointsAmount + " " + dialogs.getString("winner-2"));
     }
 
-    public void showNoWinnersDialog() {
-        JOptionPane.showMessageDialog(this,
-            dialogs.getString("no-winners-1"),
-            dialogs.getString("no-winners-2"),
-            JOptionPane.INFORMATION_MESSAGE);
+    public void notifyNoWinners() {
+        notificationLayer.post(NotificationLayer.Level.INFO, dialogs.getString("no-winners-1"));
     }
 
     // ActionListeners:
@@ -0,0 +1,220 @@
+package view;
+
+import model.Card;
+import model.ResBundle;
+
+import javax.imageio.ImageIO;
+import javax.swing.*;
+import java.awt.*;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.ResourceBundle;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntConsumer;
+
+//
+// Startup pipeline: the bundles, the card dimensions, the icon and all the card images
+// are loaded in parallel on a background executor. The frame waits only for the bundles
+// and the icon, the card images keep loading while the initial panel is on the screen.
+// The bundles of the other locales are cached by ResBundle in background as well.
+// Startup timings are printed with -Dtwentyone.startup.metrics=true
+//
+
+public class AssetLoader {
+    public static final String METRICS_PROPERTY = "twentyone.startup.metrics";
+
+    static final String MESSAGES_BASE_NAME = "resources/MessageBundle";
+    static final String DIALOGS_BASE_NAME = "resources/DialogMessages";
+
+    private final long startTime;
+    private final List<Locale> locales;
+    private final ExecutorService executor;
+
+    private final CompletableFuture<ResourceBundle> messages;
+    private final CompletableFuture<ResourceBundle> dialogs;
+    private final CompletableFuture<Image> appIcon;
+    private final CompletableFuture<Void> cardImages;
+
+    private final int imagesAmount;
+    private final AtomicInteger loadedImagesAmount;
+    private volatile IntConsumer progressListener;
+
+    private volatile long essentialsLoadedTime;
+    private volatile long cardImagesLoadedTime;
+    private volatile long firstFrameTime;
+
+    // 'startTime' is the System.nanoTime() of the application's launch,
+    // the first of the 'locales' becomes the current one
+    public static AssetLoader start(long startTime, Locale... locales) throws IllegalArgumentException {
+        if (locales.length == 0)
+            throw new IllegalArgumentException("Error in argument 'locales': no locales.");
+
+        return new AssetLoader(startTime, locales);
+    }
+
+    private AssetLoader(long startTime, Locale[] locales) {
+        this.startTime = startTime;
+        this.locales = List.of(locales);
+
+        Locale locale = locales[0];
+        ResBundle.setLocale(locale);
+
+        executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), runnable -> {
+            Thread thread = new Thread(runnable, "asset-loader");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        messages = CompletableFuture.supplyAsync(
+            () -> ResBundle.getBundle(MESSAGES_BASE_NAME, locale), executor);
+        dialogs = CompletableFuture.supplyAsync(
+            () -> ResBundle.getBundle(DIALOGS_BASE_NAME, locale), executor);
+        appIcon = CompletableFuture.supplyAsync(() -> readImage("resources/favicon.png"), executor);
+
+        CompletableFuture.allOf(messages, dialogs, appIcon)
+            .thenRun(() -> essentialsLoadedTime = System.nanoTime());
+
+        for (Locale otherLocale : Arrays.asList(locales).subList(1, locales.length))
+            CompletableFuture.runAsync(
+                () -> ResBundle.preload(otherLocale, MESSAGES_BASE_NAME, DIALOGS_BASE_NAME), executor);
+
+        // The backs are scaled to the card dimensions, so the dimensions go first
+        CompletableFuture<Void> dimensions = CompletableFuture.runAsync(CardImage::loadDimensions, executor);
+
+        String[] cardBacks = CardImage.getCardBacks();
+        imagesAmount = Card.CARDS_AMOUNT + cardBacks.length;
+        loadedImagesAmount = new AtomicInteger();
+
+        List<CompletableFuture<ImageIcon>> faces = new ArrayList<>(Card.CARDS_AMOUNT);
+        for (int i = 0; i < Card.CARDS_AMOUNT; i++) {
+            int cardIndex = i;
+            CompletableFuture<ImageIcon> face =
+                CompletableFuture.supplyAsync(() -> CardImage.readCardImage(cardIndex), executor);
+            face.thenRun(this::onImageLoaded);
+            faces.add(face);
+        }
+
+        List<CompletableFuture<ImageIcon>> backs = new ArrayList<>(cardBacks.length);
+        for (String cardBack : cardBacks) {
+            CompletableFuture<ImageIcon> back =
+                dimensions.thenApplyAsync(ignored -> CardImage.readCardBackImage(cardBack), executor);
+            back.thenRun(this::onImageLoaded);
+            backs.add(back);
+        }
+
+        CompletableFuture<Void> allImages = CompletableFuture.allOf(
+            CompletableFuture.allOf(faces.toArray(new CompletableFuture<?>[0])),
+            CompletableFuture.allOf(backs.toArray(new CompletableFuture<?>[0])));
+
+        cardImages = allImages.thenRun(() -> {
+            ImageIcon[] faceImages = new ImageIcon[faces.size()];
+            for (int i = 0; i < faceImages.length; i++)
+                faceImages[i] = faces.get(i).join();
+
+            Map<String, ImageIcon> backImages = new HashMap<>();
+            for (int i = 0; i < cardBacks.length; i++)
+                backImages.put(cardBacks[i], backs.get(i).join());
+
+            CardImage.install(faceImages, backImages);
+            cardImagesLoadedTime = System.nanoTime();
+        });
+
+        cardImages.whenComplete((result, exception) -> executor.shutdown());
+    }
+
+    private static Image readImage(String pathname) {
+        try {
+            return ImageIO.read(new File(pathname));
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void onImageLoaded() {
+        int loaded = loadedImagesAmount.incrementAndGet();
+
+        IntConsumer listener = progressListener;
+        if (listener != null)
+            SwingUtilities.invokeLater(() -> listener.accept(loaded));
+    }
+
+    private static <T> T await(CompletableFuture<T> future) throws IllegalStateException {
+        try {
+            return future.join();
+        }
+        catch (CompletionException e) {
+            throw new IllegalStateException("Asset loading has failed", e.getCause());
+        }
+    }
+
+    public ResourceBundle getMessages() throws IllegalStateException {
+        return await(messages);
+    }
+
+    public ResourceBundle getDialogs() throws IllegalStateException {
+        return await(dialogs);
+    }
+
+    public Image getAppIcon() throws IllegalStateException {
+        return await(appIcon);
+    }
+
+    public List<Locale> getLocales() {
+        return locales;
+    }
+
+    public int getImagesAmount() {
+        return imagesAmount;
+    }
+
+    public int getLoadedImagesAmount() {
+        return loadedImagesAmount.get();
+    }
+
+    // The listener is called on the EDT with the amount of the loaded images
+    public void setProgressListener(IntConsumer progressListener) {
+        this.progressListener = progressListener;
+    }
+
+    // The action is run on the EDT when all the card images are installed into CardImage
+    public void whenCardImagesLoaded(Runnable action) {
+        cardImages.whenComplete((result, exception) -> {
+            if (exception != null)
+                exception.printStackTrace();
+
+            SwingUtilities.invokeLater(action);
+        });
+    }
+
+    public void markFirstFrame() {
+        if (firstFrameTime == 0)
+            firstFrameTime = System.nanoTime();
+    }
+
+    private String millisecondsSinceStart(long time) {
+        return time == 0 ? "n/a" : (time - startTime) / 1_000_000 + " ms";
+    }
+
+    public String getMetricsReport() {
+        return "Startup: essentials loaded in " + millisecondsSinceStart(essentialsLoadedTime)
+            + ", first frame in " + millisecondsSinceStart(firstFrameTime)
+            + ", " + imagesAmount + " card images loaded in " + millisecondsSinceStart(cardImagesLoadedTime);
+    }
+
+    public void printMetricsIfEnabled() {
+        if (Boolean.getBoolean(METRICS_PROPERTY))
+            System.out.println(getMetricsReport());
+    }
+}
@@ -0,0 +1,93 @@
+package view;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.awt.image.VolatileImage;
+
+//
+// An offscreen copy of a component's static content: a VolatileImage (kept in the video memory
+// when the pipeline accelerates it) or, when there is no screen (headless) or the acceleration
+// is turned off, a compatible BufferedImage. A VolatileImage may lose its contents at any time,
+// so validate tells when the whole content has to be rendered again
+//
+
+final class BackBuffer {
+    private final boolean isAccelerated;
+
+    private VolatileImage volatileImage;
+    private BufferedImage bufferedImage;
+
+    BackBuffer(boolean isAccelerated) {
+        this.isAccelerated = isAccelerated && !GraphicsEnvironment.isHeadless();
+    }
+
+    // Returns true when the buffer is new or its contents have been lost, i.e. it must be rendered whole
+    boolean validate(Component component, int width, int height) {
+        GraphicsConfiguration configuration = component.getGraphicsConfiguration();
+
+        if (isAccelerated && configuration != null) {
+            bufferedImage = null;
+
+            if (volatileImage == null || volatileImage.getWidth() != width || volatileImage.getHeight() != height) {
+                createVolatileImage(configuration, width, height);
+                return true;
+            }
+
+            switch (volatileImage.validate(configuration)) {
+                case VolatileImage.IMAGE_INCOMPATIBLE:
+                    createVolatileImage(configuration, width, height);
+                    return true;
+                case VolatileImage.IMAGE_RESTORED:
+                    return true;
+                default:
+                    return false;
+            }
+        }
+
+        volatileImage = null;
+
+        if (bufferedImage == null || bufferedImage.getWidth() != width || bufferedImage.getHeight() != height) {
+            bufferedImage = configuration != null
+                ? configuration.createCompatibleImage(width, height, Transparency.OPAQUE)
+                : new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+            return true;
+        }
+
+        return false;
+    }
+
+    private void createVolatileImage(GraphicsConfiguration configuration, int width, int height) {
+        if (volatileImage != null)
+            volatileImage.flush();
+
+        volatileImage = configuration.createCompatibleVolatileImage(width, height, Transparency.OPAQUE);
+    }
+
+    boolean isVolatile() {
+        return volatileImage != null;
+    }
+
+    Graphics2D createGraphics() {
+        return volatileImage != null ? volatileImage.createGraphics() : bufferedImage.createGraphics();
+    }
+
+    // Copies the region of the buffer to the same place of 'g'
+    void drawRegion(Graphics g, int x, int y, int width, int height) {
+        Image image = volatileImage != null ? volatileImage : bufferedImage;
+
+        g.drawImage(image, x, y, x + width, y + height, x, y, x + width, y + height, null);
+    }
+
+    // Checked after drawing: the drawn contents might have been lost meanwhile
+    boolean contentsLost() {
+        return volatileImage != null && volatileImage.contentsLost();
+    }
+
+    void flush() {
+        if (volatileImage != null)
+            volatileImage.flush();
+
+        volatileImage = null;
+        bufferedImage = null;
+    }
+}
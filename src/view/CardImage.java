@@ -2,63 +2,205 @@ package view;
 
 import model.Card;
 
+import javax.imageio.ImageIO;
 import javax.swing.*;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Properties;
 
+//
+// Card images are decoded once and cached by the card index (see Card),
+// so dealing a card takes neither string building nor disk reads on the EDT.
+// At startup the images are decoded in parallel by AssetLoader
+//
+
 public class CardImage {
-    private static int cardWidth;
-    private static int cardHeight;
-    private static int offset;
+    public static final String DEFAULT_CARD_BACK = "blue";
 
-    static {
-        Properties properties = new Properties();
-        InputStream inputStream = null;
+    private static final String CARDS_PATH = "resources/cards/";
+    private static final String CARD_BACKS_PATH = "resources/cards-back/";
+    private static final String[] CARD_BACKS = { "blue", "gray", "green", "purple", "red", "yellow" };
 
-        try {
-            inputStream = new FileInputStream("resources/card-dimension.properties");
+    // Lazy holder: the dimensions are read on the first use (or in background by AssetLoader)
+    private static final class Dimensions {
+        private static int cardWidth;
+        private static int cardHeight;
+        private static int offset;
 
-            properties.load(inputStream);
+        static {
+            Properties properties = new Properties();
+            InputStream inputStream = null;
 
-            cardWidth = Integer.parseInt(properties.getProperty("card-width"));
-            cardHeight = Integer.parseInt(properties.getProperty("card-height"));
-            offset = Integer.parseInt(properties.getProperty("optimal-offset"));
-        }
-        catch (IOException e) {
-            e.printStackTrace();
-        }
-        finally {
-            if (inputStream != null) {
-                try {
-                    inputStream.close();
-                }
-                catch (IOException e) {
-                    e.printStackTrace();
+            try {
+                inputStream = new FileInputStream("resources/card-dimension.properties");
+
+                properties.load(inputStream);
+
+                cardWidth = Integer.parseInt(properties.getProperty("card-width"));
+                cardHeight = Integer.parseInt(properties.getProperty("card-height"));
+                offset = Integer.parseInt(properties.getProperty("optimal-offset"));
+            }
+            catch (IOException e) {
+                e.printStackTrace();
+            }
+            finally {
+                if (inputStream != null) {
+                    try {
+                        inputStream.close();
+                    }
+                    catch (IOException e) {
+                        e.printStackTrace();
+                    }
                 }
             }
         }
+
+        // Does nothing except triggering the initialization above
+        private static void initialize() {}
     }
 
+    // The images are installed at once, either by AssetLoader or by preload
+    private static volatile ImageIcon[] cardImages;
+    private static volatile Map<String, ImageIcon> cardBackImages;
+
     private CardImage() {}
 
+    static void loadDimensions() {
+        Dimensions.initialize();
+    }
+
     static int getCardWidth() {
-        return cardWidth;
+        return Dimensions.cardWidth;
     }
 
     static int getCardHeight() {
-        return cardHeight;
+        return Dimensions.cardHeight;
     }
 
     static int getOffset() {
-        return offset;
+        return Dimensions.offset;
+    }
+
+    static String[] getCardBacks() {
+        return CARD_BACKS.clone();
+    }
+
+    static ImageIcon readCardImage(int cardIndex) {
+        Card card = Card.valueOf(cardIndex);
+        String fileName = card.getCardNameSymbol() + card.getSuitShortNotation() + ".png";
+
+        return new ImageIcon(readImage(CARDS_PATH + fileName));
+    }
+
+    // The backs are larger than the faces, they are scaled once here
+    static ImageIcon readCardBackImage(String cardBack) {
+        BufferedImage image = readImage(CARD_BACKS_PATH + cardBack + ".png");
+
+        return new ImageIcon(scaleImage(image, getCardWidth(), getCardHeight()));
+    }
+
+    static synchronized void install(ImageIcon[] faces, Map<String, ImageIcon> backs) {
+        cardBackImages = new HashMap<>(backs);
+        cardImages = faces.clone();
+    }
+
+    public static boolean isLoaded() {
+        return cardImages != null;
+    }
+
+    private static BufferedImage readImage(String pathname) {
+        try {
+            // ImageIO returns null for a file it has no reader for
+            BufferedImage image = ImageIO.read(new File(pathname));
+            if (image == null)
+                throw new IOException("Error in file '" + pathname + "': unsupported or damaged image.");
+
+            return toCompatibleImage(image);
+        }
+        catch (IOException e) {
+            e.printStackTrace();
+            return new BufferedImage(getCardWidth(), getCardHeight(), BufferedImage.TYPE_INT_ARGB);
+        }
+    }
+
+    // The image in the screen's native format is drawn without any conversion
+    private static BufferedImage toCompatibleImage(BufferedImage image) {
+        if (GraphicsEnvironment.isHeadless())
+            return image;
+
+        GraphicsConfiguration configuration = GraphicsEnvironment.getLocalGraphicsEnvironment()
+            .getDefaultScreenDevice().getDefaultConfiguration();
+
+        if (image.getColorModel().equals(configuration.getColorModel(Transparency.TRANSLUCENT)))
+            return image;
+
+        BufferedImage compatibleImage = configuration.createCompatibleImage(
+            image.getWidth(), image.getHeight(), Transparency.TRANSLUCENT);
+
+        Graphics2D graphics = compatibleImage.createGraphics();
+        graphics.drawImage(image, 0, 0, null);
+        graphics.dispose();
+
+        return compatibleImage;
+    }
+
+    private static BufferedImage scaleImage(BufferedImage image, int width, int height) {
+        BufferedImage scaledImage = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+
+        Graphics2D graphics = scaledImage.createGraphics();
+        graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+        graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+        graphics.drawImage(image, 0, 0, width, height, null);
+        graphics.dispose();
+
+        return toCompatibleImage(scaledImage);
+    }
+
+    // Decodes all the images synchronously, unless they have been loaded already
+    public static synchronized void preload() {
+        if (isLoaded())
+            return;
+
+        ImageIcon[] faces = new ImageIcon[Card.CARDS_AMOUNT];
+        for (int cardIndex = 0; cardIndex < faces.length; cardIndex++)
+            faces[cardIndex] = readCardImage(cardIndex);
+
+        Map<String, ImageIcon> backs = new HashMap<>();
+        for (String cardBack : CARD_BACKS)
+            backs.put(cardBack, readCardBackImage(cardBack));
+
+        install(faces, backs);
     }
 
     public static ImageIcon getCardImage(Card card) {
-        String cardName = card.getCardNameSymbol();
-        String cardSuit = card.getSuitShortNotation();
+        return getCardImage(card.getIndex());
+    }
+
+    public static ImageIcon getCardImage(int cardIndex) {
+        if (!isLoaded())
+            preload();
+
+        return cardImages[cardIndex];
+    }
+
+    public static ImageIcon getCardBackImage() {
+        return getCardBackImage(DEFAULT_CARD_BACK);
+    }
+
+    public static ImageIcon getCardBackImage(String cardBack) throws IllegalArgumentException {
+        if (!isLoaded())
+            preload();
+
+        ImageIcon cardBackImage = cardBackImages.get(cardBack);
+        if (cardBackImage == null)
+            throw new IllegalArgumentException("There is no card back: " + cardBack);
 
-        return new ImageIcon("resources/cards/" + cardName + cardSuit + ".png");
+        return cardBackImage;
     }
 }
@@ -0,0 +1,738 @@
+package view;
+
+import model.Card;
+import model.GameModel;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+
+//
+// The whole table is one component which paints the hands itself (retained mode): a seat keeps
+// only the indexes of its cards, and paintComponent draws the decoded images (see CardImage)
+// which intersect the clip. A dealt card repaints the hand of its seat only, and a seat's place
+// doesn't depend on the hands, so nothing is laid out again while the game goes on.
+// The dealer (seat 0) takes the first row, the players share the rows below it; when a place
+// is too small the cards are scaled down (once per card and size) and the offset between them is shortened.
+//
+// The settled cards and the captions are rendered into a back buffer (see BackBuffer) only when
+// they change, the frames of an animation copy the buffer and draw the moving cards over it.
+// A dealt card flies face down from the deck (see setDealOrigin) to its place in the hand and
+// turns over there; the frames are paced by a FrameClock, and a frame allocates nothing (that's why
+// the turning card is narrowed by cropping it: a scaled drawImage allocates on every call).
+// -Dtwentyone.animation=false shows the dealt cards at once,
+// -Dtwentyone.animation.accelerated=false keeps the back buffer out of the video memory
+//
+
+public final class CardTable extends JComponent {
+    public static final String ANIMATION_PROPERTY_NAME = "twentyone.animation";
+    public static final String ACCELERATION_PROPERTY_NAME = "twentyone.animation.accelerated";
+
+    public static final int OFFSET = CardImage.getOffset();
+    public static final Dimension CARD_DIMENSION = new Dimension(CardImage.getCardWidth(), CardImage.getCardHeight());
+
+    public static final int MAX_SEATS_AMOUNT = GameModel.MAX_SEATS_AMOUNT;
+
+    // The flight of a dealt card, its turn over, and the delay between the cards dealt at once
+    public static final long DEAL_NANOS = 240_000_000L;
+    public static final long FLIP_NANOS = 140_000_000L;
+    public static final long STAGGER_NANOS = 80_000_000L;
+
+    private static final int MAX_PLAYERS_PER_ROW = 3;
+    private static final int PADDING = 8;
+    private static final int CAPTION_GAP = 6;
+    private static final double MIN_SCALE = 0.25;
+
+    // More cards in the air than that are settled at once
+    private static final int MAX_TWEENS = 32;
+    private static final int CARD_BACK = Card.CARDS_AMOUNT;
+
+    private static final class Seat {
+        private int[] cards = new int[8];
+        private int size;
+
+        // The cards [0, settledSize) are in the back buffer, the rest of them are in the air
+        private int settledSize;
+
+        private String title = "";
+        private String points = "";
+        private String caption = "";
+
+        // The caption of the seat whose turn it is is bold
+        private boolean isActive;
+
+        // The seat's place and what has been painted in it
+        private final Rectangle cell = new Rectangle();
+        private final Rectangle handBounds = new Rectangle();
+        private final Rectangle captionBounds = new Rectangle();
+        private int cardOffset;
+    }
+
+    // A card in the air, the tweens are allocated once and reused
+    private static final class Tween {
+        private Seat seat;
+        private int card;
+        private long startNanos;
+        private int fromX;
+        private int fromY;
+
+        // Where the card is painted by the current frame
+        private final Rectangle bounds = new Rectangle();
+    }
+
+    private Seat[] seats;
+
+    // The same for all the seats (see layoutSeats)
+    private int cardWidth;
+    private int cardHeight;
+
+    // The card images of the current size, by the card index and CARD_BACK (when the cards are scaled)
+    private final Image[] scaledImages = new Image[Card.CARDS_AMOUNT + 1];
+
+    private final Rectangle dirtyRegion = new Rectangle();
+    private Font activeFont;
+
+    // Static content:
+    private final BackBuffer backBuffer;
+    private final Rectangle bufferDirtyRegion = new Rectangle();
+    private boolean isBufferInvalid = true;
+
+    // Animation:
+    private final boolean isAnimated;
+    private final FrameClock frameClock;
+    private final Tween[] tweens = new Tween[MAX_TWEENS];
+    private int tweensAmount;
+    private long lastTweenStartNanos;
+    private long frameNanos;
+    private Component dealOrigin;
+
+    private final Rectangle clipBounds = new Rectangle();
+    private final Rectangle frameRegion = new Rectangle();
+    private final Rectangle cardBounds = new Rectangle();
+
+    public CardTable(int seatsAmount) throws IllegalArgumentException {
+        this(seatsAmount,
+            !"false".equals(System.getProperty(ANIMATION_PROPERTY_NAME)),
+            !"false".equals(System.getProperty(ACCELERATION_PROPERTY_NAME)));
+    }
+
+    public CardTable(int seatsAmount, boolean isAnimated, boolean isAccelerated) throws IllegalArgumentException {
+        this.isAnimated = isAnimated;
+        this.backBuffer = new BackBuffer(isAccelerated);
+        this.frameClock = new FrameClock(FrameClock.DEFAULT_FRAMES_PER_SECOND, this::advanceFrame);
+
+        for (int i = 0; i < MAX_TWEENS; i++)
+            tweens[i] = new Tween();
+
+        setOpaque(true);
+        setFont(UIManager.getFont("Label.font"));
+        setForeground(UIManager.getColor("Label.foreground"));
+        setBackground(UIManager.getColor("Panel.background"));
+        setSeatsAmount(seatsAmount);
+    }
+
+    public int getSeatsAmount() {
+        return seats.length;
+    }
+
+    // Removes all the cards, the titles are kept for the remaining seats
+    public void setSeatsAmount(int seatsAmount) throws IllegalArgumentException {
+        if (seatsAmount < 1 || seatsAmount > MAX_SEATS_AMOUNT)
+            throw new IllegalArgumentException("Error in argument 'seatsAmount': out of [1, " + MAX_SEATS_AMOUNT + "].");
+
+        stopTweens();
+
+        Seat[] oldSeats = seats;
+        seats = new Seat[seatsAmount];
+
+        for (int seat = 0; seat < seatsAmount; seat++) {
+            seats[seat] = new Seat();
+
+            if (oldSeats != null && seat < oldSeats.length)
+                seats[seat].title = oldSeats[seat].title;
+        }
+
+        layoutSeats();
+        invalidateBuffer();
+    }
+
+    private Seat getSeat(int seat) throws IllegalArgumentException {
+        if (seat < 0 || seat >= seats.length)
+            throw new IllegalArgumentException("Error in argument 'seat': out of [0, " + (seats.length - 1) + "].");
+
+        return seats[seat];
+    }
+
+    public int getHandSize(int seat) throws IllegalArgumentException {
+        return getSeat(seat).size;
+    }
+
+    // The card is shown in its place at once
+    public void addCard(int seat, Card card) throws IllegalArgumentException {
+        Seat target = getSeat(seat);
+
+        // The cards in the air of the seat are under the new one, they are settled first
+        settleTweens(target);
+
+        pushCard(target, card);
+        target.settledSize = target.size;
+
+        repaintHand(target);
+    }
+
+    // The card is dealt from the deck with the animation (or shown at once when it's turned off)
+    public void dealCard(int seat, Card card) throws IllegalArgumentException {
+        if (!isAnimated) {
+            addCard(seat, card);
+            return;
+        }
+
+        Seat target = getSeat(seat);
+
+        if (tweensAmount == MAX_TWEENS)
+            settleTweens(tweens[0].seat);
+
+        pushCard(target, card);
+        repaintHand(target);
+
+        long now = frameClock.isRunning() ? frameClock.getFrameNanos() : System.nanoTime();
+
+        Tween tween = tweens[tweensAmount++];
+        tween.seat = target;
+        tween.card = target.size - 1;
+        tween.startNanos = tweensAmount == 1 ? now : Math.max(now, lastTweenStartNanos + STAGGER_NANOS);
+        tween.bounds.setBounds(0, 0, 0, 0);
+        lastTweenStartNanos = tween.startNanos;
+
+        setDealOriginOf(tween);
+
+        frameClock.start();
+    }
+
+    private void pushCard(Seat seat, Card card) {
+        if (seat.size == seat.cards.length)
+            seat.cards = Arrays.copyOf(seat.cards, seat.size * 2);
+
+        seat.cards[seat.size++] = card.getIndex();
+    }
+
+    // The dealt cards fly from the center of the component (usually the deck's image)
+    public void setDealOrigin(Component dealOrigin) {
+        this.dealOrigin = dealOrigin;
+    }
+
+    // From the deck, or from the right edge of the table when the deck isn't on the screen
+    private void setDealOriginOf(Tween tween) {
+        if (dealOrigin != null && dealOrigin.isShowing() && isShowing()) {
+            Point origin = SwingUtilities.convertPoint(dealOrigin,
+                dealOrigin.getWidth() / 2, dealOrigin.getHeight() / 2, this);
+
+            tween.fromX = origin.x - cardWidth / 2;
+            tween.fromY = origin.y - cardHeight / 2;
+        }
+        else {
+            tween.fromX = getWidth();
+            tween.fromY = (getHeight() - cardHeight) / 2;
+        }
+    }
+
+    public boolean isAnimating() {
+        return tweensAmount > 0;
+    }
+
+    public FrameMetrics getFrameMetrics() {
+        return frameClock.getMetrics();
+    }
+
+    // The frames may be driven by hand (see advanceFrame) once the clock is stopped
+    FrameClock getFrameClock() {
+        return frameClock;
+    }
+
+    // The caption under the hand is "<title> <points>"
+    public void setTitle(int seat, String title) throws IllegalArgumentException {
+        Seat target = getSeat(seat);
+        target.title = title != null ? title : "";
+
+        repaintCaption(target);
+    }
+
+    public void setPoints(int seat, String points) throws IllegalArgumentException {
+        Seat target = getSeat(seat);
+
+        if (target.points.equals(points))
+            return;
+
+        target.points = points != null ? points : "";
+
+        repaintCaption(target);
+    }
+
+    // The seat whose turn it is, -1 when it's nobody's turn
+    public void setActiveSeat(int seat) throws IllegalArgumentException {
+        if (seat != -1)
+            getSeat(seat);
+
+        for (int i = 0; i < seats.length; i++) {
+            if (seats[i].isActive == (i == seat))
+                continue;
+
+            seats[i].isActive = i == seat;
+            repaintCaption(seats[i]);
+        }
+    }
+
+    public int getActiveSeat() {
+        for (int i = 0; i < seats.length; i++)
+            if (seats[i].isActive)
+                return i;
+
+        return -1;
+    }
+
+    // Removes the cards of all the seats
+    public void clear() {
+        stopTweens();
+
+        for (Seat seat : seats) {
+            if (seat.size == 0)
+                continue;
+
+            seat.size = 0;
+            seat.settledSize = 0;
+            repaintHand(seat);
+        }
+    }
+
+    // The place of a card in the current layout (the hand's size is the place of the next card)
+    public Rectangle getCardBounds(int seat, int card, Rectangle bounds) throws IllegalArgumentException {
+        Seat target = getSeat(seat);
+
+        if (card < 0 || card > target.size)
+            throw new IllegalArgumentException("Error in argument 'card': out of [0, " + target.size + "].");
+
+        return getCardBounds(target, card, bounds);
+    }
+
+    private Rectangle getCardBounds(Seat seat, int card, Rectangle bounds) {
+        bounds.setBounds(seat.handBounds.x + card * seat.cardOffset, seat.handBounds.y, cardWidth, cardHeight);
+
+        return bounds;
+    }
+
+    @Override
+    public void setBounds(int x, int y, int width, int height) {
+        boolean isResized = width != getWidth() || height != getHeight();
+
+        super.setBounds(x, y, width, height);
+
+        if (isResized) {
+            layoutSeats();
+            invalidateBuffer();
+        }
+    }
+
+    @Override
+    public Dimension getPreferredSize() {
+        if (isPreferredSizeSet())
+            return super.getPreferredSize();
+
+        int rowHeight = CARD_DIMENSION.height + CAPTION_GAP + captionHeight() + 2 * PADDING;
+
+        return new Dimension(CARD_DIMENSION.width + 2 * OFFSET + 2 * PADDING, rowHeight * rowsAmount());
+    }
+
+    private int captionHeight() {
+        return getFontMetrics(getFont()).getHeight();
+    }
+
+    private int rowsAmount() {
+        int playersAmount = seats.length - 1;
+
+        return 1 + (playersAmount + MAX_PLAYERS_PER_ROW - 1) / MAX_PLAYERS_PER_ROW;
+    }
+
+    // Places the seats into the cells of the table and scales the cards to fit the cells
+    private void layoutSeats() {
+        int rowsAmount = rowsAmount();
+        int playersAmount = seats.length - 1;
+        int columnsAmount = playersAmount == 0 ? 1 : (playersAmount + rowsAmount - 2) / (rowsAmount - 1);
+
+        int rowHeight = getHeight() / rowsAmount;
+        int columnWidth = getWidth() / columnsAmount;
+
+        seats[0].cell.setBounds(0, 0, getWidth(), rowHeight);
+
+        for (int player = 0; player < playersAmount; player++) {
+            int row = 1 + player / columnsAmount;
+            int column = player % columnsAmount;
+
+            // The last row is centered when it isn't full
+            int rowColumns = Math.min(columnsAmount, playersAmount - (row - 1) * columnsAmount);
+            int x = (getWidth() - rowColumns * columnWidth) / 2 + column * columnWidth;
+
+            seats[player + 1].cell.setBounds(x, row * rowHeight, columnWidth, rowHeight);
+        }
+
+        int captionHeight = captionHeight();
+        double scale = (double) (rowHeight - 2 * PADDING - CAPTION_GAP - captionHeight) / CARD_DIMENSION.height;
+        scale = Math.max(MIN_SCALE, Math.min(1.0, Math.min(scale,
+            (double) (columnWidth - 2 * PADDING) / CARD_DIMENSION.width)));
+
+        int width = (int) Math.round(CARD_DIMENSION.width * scale);
+        int height = (int) Math.round(CARD_DIMENSION.height * scale);
+
+        if (width != cardWidth || height != cardHeight) {
+            cardWidth = width;
+            cardHeight = height;
+            Arrays.fill(scaledImages, null);
+        }
+
+        for (Seat seat : seats) {
+            layoutHand(seat);
+            layoutCaption(seat);
+        }
+    }
+
+    // The hand is centered in its cell, its offset is shortened when the cards don't fit
+    private void layoutHand(Seat seat) {
+        Rectangle cell = seat.cell;
+        int scaledOffset = (int) Math.round((double) OFFSET * cardWidth / CARD_DIMENSION.width);
+
+        seat.cardOffset = seat.size <= 1
+            ? scaledOffset
+            : Math.max(1, Math.min(scaledOffset, (cell.width - 2 * PADDING - cardWidth) / (seat.size - 1)));
+
+        int width = cardWidth + Math.max(seat.size - 1, 0) * seat.cardOffset;
+        int height = cardHeight + CAPTION_GAP + captionHeight();
+
+        seat.handBounds.setBounds(cell.x + (cell.width - width) / 2, cell.y + (cell.height - height) / 2,
+            width, cardHeight);
+    }
+
+    private void layoutCaption(Seat seat) {
+        seat.caption = seat.points.isEmpty() ? seat.title : seat.title + " " + seat.points;
+
+        FontMetrics metrics = getFontMetrics(getCaptionFont(seat));
+        int width = metrics.stringWidth(seat.caption);
+
+        seat.captionBounds.setBounds(seat.cell.x + (seat.cell.width - width) / 2,
+            seat.handBounds.y + cardHeight + CAPTION_GAP, width, metrics.getHeight());
+    }
+
+    private Font getCaptionFont(Seat seat) {
+        if (!seat.isActive)
+            return getFont();
+
+        if (activeFont == null || !activeFont.getFamily().equals(getFont().getFamily())
+            || activeFont.getSize2D() != getFont().getSize2D())
+            activeFont = getFont().deriveFont(Font.BOLD);
+
+        return activeFont;
+    }
+
+    // The old and the new places of the hand are repainted, the rest of the table is kept
+    private void repaintHand(Seat seat) {
+        dirtyRegion.setBounds(seat.handBounds);
+
+        layoutHand(seat);
+        dirtyRegion.add(seat.handBounds);
+
+        repaintBuffer(dirtyRegion);
+    }
+
+    private void repaintCaption(Seat seat) {
+        dirtyRegion.setBounds(seat.captionBounds);
+
+        layoutCaption(seat);
+        dirtyRegion.add(seat.captionBounds);
+
+        repaintBuffer(dirtyRegion);
+    }
+
+    // The region of the static content is rendered into the back buffer again on the next paint
+    private void repaintBuffer(Rectangle region) {
+        if (region.isEmpty())
+            return;
+
+        if (bufferDirtyRegion.isEmpty())
+            bufferDirtyRegion.setBounds(region);
+        else
+            bufferDirtyRegion.add(region);
+
+        repaint(region.x, region.y, region.width, region.height);
+    }
+
+    private void invalidateBuffer() {
+        isBufferInvalid = true;
+        repaint();
+    }
+
+    // Animation:
+
+    // Called by the frame clock: repaints the union of the old and the new places of the cards in the air
+    void advanceFrame(long frameNanos) {
+        this.frameNanos = frameNanos;
+        frameRegion.setBounds(0, 0, 0, 0);
+
+        int remaining = 0;
+
+        for (int i = 0; i < tweensAmount; i++) {
+            Tween tween = tweens[i];
+
+            if (!tween.bounds.isEmpty())
+                addToFrameRegion(tween.bounds);
+
+            if (frameNanos - tween.startNanos >= DEAL_NANOS + FLIP_NANOS) {
+                // The card is in the hand now: it's rendered into the back buffer
+                tween.seat.settledSize = Math.max(tween.seat.settledSize, tween.card + 1);
+
+                repaintBuffer(getCardBounds(tween.seat, tween.card, cardBounds));
+                continue;
+            }
+
+            getTweenBounds(tween, frameNanos, tween.bounds);
+            if (!tween.bounds.isEmpty())
+                addToFrameRegion(tween.bounds);
+
+            // The finished tweens are moved to the end, the order of the others is kept
+            tweens[i] = tweens[remaining];
+            tweens[remaining++] = tween;
+        }
+
+        tweensAmount = remaining;
+
+        if (!frameRegion.isEmpty())
+            repaint(frameRegion.x, frameRegion.y, frameRegion.width, frameRegion.height);
+
+        if (tweensAmount == 0)
+            frameClock.stop();
+    }
+
+    private void addToFrameRegion(Rectangle bounds) {
+        if (frameRegion.isEmpty())
+            frameRegion.setBounds(bounds);
+        else
+            frameRegion.add(bounds);
+    }
+
+    // The card flies with the ease-out from the origin to its place in the hand (where the hand's offsets put it)
+    private void getTweenBounds(Tween tween, long frameNanos, Rectangle bounds) {
+        long elapsedNanos = frameNanos - tween.startNanos;
+
+        if (elapsedNanos < 0) {
+            bounds.setBounds(0, 0, 0, 0);
+            return;
+        }
+
+        getCardBounds(tween.seat, tween.card, bounds);
+
+        if (elapsedNanos < DEAL_NANOS) {
+            double progress = 1.0 - (double) elapsedNanos / DEAL_NANOS;
+            double eased = 1.0 - progress * progress * progress;
+
+            bounds.x = tween.fromX + (int) Math.round((bounds.x - tween.fromX) * eased);
+            bounds.y = tween.fromY + (int) Math.round((bounds.y - tween.fromY) * eased);
+        }
+    }
+
+    // The visible width of the turning card: it narrows showing the back, then widens showing the face
+    private int getFlipWidth(long elapsedNanos) {
+        if (elapsedNanos < DEAL_NANOS)
+            return cardWidth;
+
+        double progress = Math.min(1.0, (double) (elapsedNanos - DEAL_NANOS) / FLIP_NANOS);
+
+        return Math.max(1, (int) Math.round(cardWidth * Math.abs(1.0 - 2.0 * progress)));
+    }
+
+    private static boolean isFaceUp(long elapsedNanos) {
+        return elapsedNanos >= DEAL_NANOS + FLIP_NANOS / 2;
+    }
+
+    private void settleTweens(Seat seat) {
+        int remaining = 0;
+
+        for (int i = 0; i < tweensAmount; i++) {
+            Tween tween = tweens[i];
+
+            if (tween.seat == seat) {
+                if (!tween.bounds.isEmpty())
+                    repaint(tween.bounds);
+                continue;
+            }
+
+            tweens[i] = tweens[remaining];
+            tweens[remaining++] = tween;
+        }
+
+        tweensAmount = remaining;
+
+        seat.settledSize = seat.size;
+        repaintBuffer(seat.handBounds);
+
+        if (tweensAmount == 0)
+            frameClock.stop();
+    }
+
+    private void stopTweens() {
+        for (int i = 0; i < tweensAmount; i++)
+            if (!tweens[i].bounds.isEmpty())
+                repaint(tweens[i].bounds);
+
+        tweensAmount = 0;
+        frameClock.stop();
+
+        if (seats != null)
+            for (Seat seat : seats)
+                seat.settledSize = seat.size;
+    }
+
+    // Painting:
+
+    @Override
+    protected void paintComponent(Graphics graphics) {
+        if (getWidth() <= 0 || getHeight() <= 0)
+            return;
+
+        boolean isFrame = tweensAmount > 0;
+        long startNanos = isFrame ? System.nanoTime() : 0;
+
+        // The bounds are left as they are when there is no clip
+        clipBounds.setBounds(0, 0, getWidth(), getHeight());
+        graphics.getClipBounds(clipBounds);
+
+        renderBuffer();
+        backBuffer.drawRegion(graphics, clipBounds.x, clipBounds.y, clipBounds.width, clipBounds.height);
+
+        if (isFrame)
+            paintTweens(graphics);
+
+        // The buffer has been lost while it was being copied, the next paint renders it again
+        if (backBuffer.contentsLost())
+            invalidateBuffer();
+
+        if (isFrame)
+            frameClock.getMetrics().recordPaint(System.nanoTime() - startNanos);
+    }
+
+    // Renders the static content, only its dirty region unless the buffer is new or lost
+    private void renderBuffer() {
+        if (backBuffer.validate(this, getWidth(), getHeight()))
+            isBufferInvalid = true;
+
+        if (isBufferInvalid)
+            bufferDirtyRegion.setBounds(0, 0, getWidth(), getHeight());
+        else if (bufferDirtyRegion.isEmpty())
+            return;
+
+        Graphics2D g = backBuffer.createGraphics();
+
+        try {
+            g.clipRect(bufferDirtyRegion.x, bufferDirtyRegion.y, bufferDirtyRegion.width, bufferDirtyRegion.height);
+            paintTable(g, bufferDirtyRegion);
+        }
+        finally {
+            g.dispose();
+        }
+
+        isBufferInvalid = false;
+        bufferDirtyRegion.setBounds(0, 0, 0, 0);
+    }
+
+    private void paintTable(Graphics2D g, Rectangle clip) {
+        g.setColor(getBackground());
+        g.fillRect(clip.x, clip.y, clip.width, clip.height);
+
+        g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        g.setColor(getForeground());
+
+        for (Seat seat : seats) {
+            if (seat.settledSize > 0 && clip.intersects(seat.handBounds))
+                paintHand(g, seat, clip);
+
+            if (clip.intersects(seat.captionBounds)) {
+                g.setFont(getCaptionFont(seat));
+                g.drawString(seat.caption, seat.captionBounds.x,
+                    seat.captionBounds.y + g.getFontMetrics().getAscent());
+            }
+        }
+    }
+
+    // The cards are drawn from the bottom to the top, those out of the clip are skipped
+    private void paintHand(Graphics2D g, Seat seat, Rectangle clip) {
+        int y = seat.handBounds.y;
+
+        for (int card = 0; card < seat.settledSize; card++) {
+            int x = seat.handBounds.x + card * seat.cardOffset;
+
+            if (x + cardWidth <= clip.x || x >= clip.x + clip.width)
+                continue;
+
+            g.drawImage(getImage(seat.cards[card]), x, y, null);
+        }
+    }
+
+    // The cards in the air in the order of their dealing, where the current frame has placed them
+    private void paintTweens(Graphics graphics) {
+        for (int i = 0; i < tweensAmount; i++) {
+            Tween tween = tweens[i];
+            Rectangle bounds = tween.bounds;
+
+            if (bounds.isEmpty() || !bounds.intersects(clipBounds))
+                continue;
+
+            long elapsedNanos = frameNanos - tween.startNanos;
+            int width = getFlipWidth(elapsedNanos);
+
+            Image image = getImage(isFaceUp(elapsedNanos) ? tween.seat.cards[tween.card] : CARD_BACK);
+
+            if (width == cardWidth) {
+                graphics.drawImage(image, bounds.x, bounds.y, null);
+                continue;
+            }
+
+            // The middle columns of the card, in their places
+            int left = (cardWidth - width) / 2;
+            graphics.drawImage(image,
+                bounds.x + left, bounds.y, bounds.x + left + width, bounds.y + cardHeight,
+                left, 0, left + width, cardHeight, null);
+        }
+    }
+
+    Image getImage(int cardIndex) {
+        Image image = cardIndex == CARD_BACK
+            ? CardImage.getCardBackImage().getImage()
+            : CardImage.getCardImage(cardIndex).getImage();
+
+        if (cardWidth == CARD_DIMENSION.width && cardHeight == CARD_DIMENSION.height)
+            return image;
+
+        if (scaledImages[cardIndex] == null) {
+            GraphicsConfiguration configuration = getGraphicsConfiguration();
+            BufferedImage scaledImage = configuration != null
+                ? configuration.createCompatibleImage(cardWidth, cardHeight, Transparency.TRANSLUCENT)
+                : new BufferedImage(cardWidth, cardHeight, BufferedImage.TYPE_INT_ARGB);
+
+            Graphics2D g = scaledImage.createGraphics();
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.drawImage(image, 0, 0, cardWidth, cardHeight, null);
+            g.dispose();
+
+            scaledImages[cardIndex] = scaledImage;
+        }
+
+        return scaledImages[cardIndex];
+    }
+
+    @Override
+    public void removeNotify() {
+        super.removeNotify();
+
+        stopTweens();
+        backBuffer.flush();
+        isBufferInvalid = true;
+    }
+}
@@ -0,0 +1,87 @@
+package view;
+
+import javax.swing.*;
+import java.util.function.LongConsumer;
+
+//
+// Fixed-rate frame clock on the EDT: the frames are due every 1/framesPerSecond from the start,
+// and every tick sets the timer's delay to the next due time, so the rate doesn't drift with
+// the timer's millisecond resolution. A late frame isn't made up: the frames it has missed
+// are counted as dropped (see FrameMetrics) and the clock goes on from the current time.
+// The listener gets the time of the frame (System.nanoTime), the clock allocates nothing per frame
+//
+
+public final class FrameClock {
+    public static final int DEFAULT_FRAMES_PER_SECOND = 60;
+
+    private final long periodNanos;
+    private final LongConsumer frameListener;
+    private final FrameMetrics metrics = new FrameMetrics();
+    private final Timer timer;
+
+    private long frameNanos;
+    private long nextFrameNanos;
+
+    public FrameClock(int framesPerSecond, LongConsumer frameListener) throws IllegalArgumentException {
+        if (framesPerSecond < 1 || framesPerSecond > 1000)
+            throw new IllegalArgumentException("Error in argument 'framesPerSecond': out of [1, 1000].");
+
+        this.periodNanos = 1_000_000_000L / framesPerSecond;
+        this.frameListener = frameListener;
+
+        timer = new Timer(delayMillisOf(periodNanos), actionEvent -> tick());
+        timer.setCoalesce(true);
+    }
+
+    private static int delayMillisOf(long nanos) {
+        return (int) Math.max(0, nanos / 1_000_000);
+    }
+
+    public long getPeriodNanos() {
+        return periodNanos;
+    }
+
+    public FrameMetrics getMetrics() {
+        return metrics;
+    }
+
+    public boolean isRunning() {
+        return timer.isRunning();
+    }
+
+    // The time of the last frame, or of the start when there has been no frame yet
+    public long getFrameNanos() {
+        return frameNanos;
+    }
+
+    public void start() {
+        if (timer.isRunning())
+            return;
+
+        frameNanos = System.nanoTime();
+        nextFrameNanos = frameNanos + periodNanos;
+
+        timer.setInitialDelay(delayMillisOf(periodNanos));
+        timer.setDelay(delayMillisOf(periodNanos));
+        timer.start();
+    }
+
+    public void stop() {
+        timer.stop();
+    }
+
+    private void tick() {
+        long now = System.nanoTime();
+        long intervalNanos = now - frameNanos;
+
+        int droppedFrames = (int) ((now - nextFrameNanos) / periodNanos);
+        metrics.recordFrame(intervalNanos, Math.max(droppedFrames, 0));
+
+        frameNanos = now;
+        nextFrameNanos = droppedFrames > 0 ? now + periodNanos : nextFrameNanos + periodNanos;
+
+        timer.setDelay(delayMillisOf(nextFrameNanos - now));
+
+        frameListener.accept(now);
+    }
+}
@@ -0,0 +1,100 @@
+package view;
+
+import java.util.Arrays;
+
+//
+// Frame times of an animation (see FrameClock): the intervals between the frames by milliseconds,
+// the frames which were skipped because the previous one was late, and the time of painting.
+// Written on the EDT without allocations, the report may be read from any thread (approximately).
+// It's printed at exit with -Dtwentyone.animation.metrics=true
+//
+
+public final class FrameMetrics {
+    public static final String PROPERTY_NAME = "twentyone.animation.metrics";
+
+    // The intervals by milliseconds, the last bucket takes the longer ones
+    private static final int INTERVAL_BUCKETS = 101;
+
+    private final long[] intervals = new long[INTERVAL_BUCKETS];
+    private long framesAmount;
+    private long droppedFramesAmount;
+    private long intervalsNanos;
+
+    private long paintsAmount;
+    private long paintNanos;
+    private long maxPaintNanos;
+
+    void recordFrame(long intervalNanos, int droppedFrames) {
+        intervals[(int) Math.min(intervalNanos / 1_000_000, INTERVAL_BUCKETS - 1)]++;
+
+        framesAmount++;
+        droppedFramesAmount += droppedFrames;
+        intervalsNanos += intervalNanos;
+    }
+
+    void recordPaint(long nanos) {
+        paintsAmount++;
+        paintNanos += nanos;
+        maxPaintNanos = Math.max(maxPaintNanos, nanos);
+    }
+
+    public long getFramesAmount() {
+        return framesAmount;
+    }
+
+    public long getDroppedFramesAmount() {
+        return droppedFramesAmount;
+    }
+
+    public double getFramesPerSecond() {
+        return intervalsNanos == 0 ? 0 : framesAmount * 1e9 / intervalsNanos;
+    }
+
+    // Returns 0 when nothing has been recorded yet
+    public int getFrameIntervalPercentileMillis(double percentile) throws IllegalArgumentException {
+        if (percentile < 0.0 || percentile > 100.0)
+            throw new IllegalArgumentException("Error in argument 'percentile': out of [0, 100].");
+
+        if (framesAmount == 0)
+            return 0;
+
+        long rank = Math.max(1, (long) Math.ceil(framesAmount * percentile / 100.0));
+        long seen = 0;
+
+        for (int i = 0; i < INTERVAL_BUCKETS; i++) {
+            seen += intervals[i];
+
+            if (seen >= rank)
+                return i;
+        }
+
+        return INTERVAL_BUCKETS - 1;
+    }
+
+    public long getMeanPaintMicros() {
+        return paintsAmount == 0 ? 0 : paintNanos / paintsAmount / 1000;
+    }
+
+    public long getMaxPaintMicros() {
+        return maxPaintNanos / 1000;
+    }
+
+    public void reset() {
+        Arrays.fill(intervals, 0);
+
+        framesAmount = 0;
+        droppedFramesAmount = 0;
+        intervalsNanos = 0;
+        paintsAmount = 0;
+        paintNanos = 0;
+        maxPaintNanos = 0;
+    }
+
+    public String getReport() {
+        return String.format("Animation: %d frames (%.1f fps), %d dropped, interval p50 %d ms, p99 %d ms, "
+                + "paint mean %d us, max %d us",
+            getFramesAmount(), getFramesPerSecond(), getDroppedFramesAmount(),
+            getFrameIntervalPercentileMillis(50), getFrameIntervalPercentileMillis(99),
+            getMeanPaintMicros(), getMaxPaintMicros());
+    }
+}
@@ -58,39 +58,4 @@ final class GuiCreator {
 
         return panel;
     }
-
-    static LayeredPane createLayeredPane(Dimension dimension, float alignmentX, float alignmentY) {
-        LayeredPane layeredPane = createLayeredPane(dimension, alignmentX);
-        layeredPane.setAlignmentY(alignmentY);
-
-        return layeredPane;
-    }
-
-    static LayeredPane createLayeredPane(float alignmentX, float alignmentY) {
-        LayeredPane layeredPane = createLayeredPane(alignmentX);
-        layeredPane.setAlignmentY(alignmentY);
-
-        return layeredPane;
-    }
-
-    static LayeredPane createLayeredPane(Dimension dimension, float alignmentX) {
-        LayeredPane layeredPane = createLayeredPane(dimension);
-        layeredPane.setAlignmentX(alignmentX);
-
-        return layeredPane;
-    }
-
-    static LayeredPane createLayeredPane(float alignmentX) {
-        LayeredPane layeredPane = new LayeredPane();
-        layeredPane.setAlignmentX(alignmentX);
-
-        return layeredPane;
-    }
-
-    static LayeredPane createLayeredPane(Dimension dimension) {
-        LayeredPane layeredPane = new LayeredPane();
-        layeredPane.setPreferredSize(dimension);
-
-        return layeredPane;
-    }
 }
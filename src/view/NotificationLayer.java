@@ -0,0 +1,200 @@
+package view;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+//
+// Non-modal notifications painted over the frame (on its JLayeredPane) instead of JOptionPane's dialogs.
+// The notifications posted during one event of the EDT are coalesced into one banner (the same
+// texts are shown once), so the end of a round is a single repaint. The banners are queued and
+// every one is shown for DISPLAY_MILLIS, a click dismisses it. Only the banner's area is repainted,
+// and the layer takes the mouse only over the banner, so the game is never blocked
+//
+
+public final class NotificationLayer extends JComponent {
+    public static final int DISPLAY_MILLIS = 2500;
+    public static final int MAX_QUEUED_BANNERS = 8;
+
+    private static final int MARGIN = 12;
+    private static final int PADDING = 10;
+    private static final int ARC = 14;
+    private static final int LINE_SPACING = 2;
+
+    public enum Level {
+        INFO(new Color(40, 40, 40, 215)),
+        SUCCESS(new Color(25, 100, 45, 225)),
+        WARNING(new Color(150, 45, 30, 225));
+
+        private final Color background;
+
+        Level(Color background) {
+            this.background = background;
+        }
+    }
+
+    private static final class Banner {
+        private final List<String> lines;
+        private final Level level;
+
+        private Banner(List<String> lines, Level level) {
+            this.lines = lines;
+            this.level = level;
+        }
+    }
+
+    private final ArrayDeque<Banner> queue = new ArrayDeque<>();
+
+    // The notifications of the current event of the EDT
+    private final List<String> pendingLines = new ArrayList<>();
+    private Level pendingLevel;
+    private boolean isFlushScheduled;
+
+    private Banner banner;
+    private final Rectangle bannerBounds = new Rectangle();
+    private final Timer displayTimer;
+
+    public NotificationLayer() {
+        setOpaque(false);
+        setFont(UIManager.getFont("Label.font").deriveFont(Font.BOLD, 14.0f));
+
+        displayTimer = new Timer(DISPLAY_MILLIS, actionEvent -> showNextBanner());
+        displayTimer.setRepeats(false);
+
+        addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                showNextBanner();
+            }
+        });
+    }
+
+    // Must be called on the EDT
+    public void post(Level level, String text) {
+        if (!pendingLines.contains(text))
+            pendingLines.add(text);
+
+        if (pendingLevel == null || level.compareTo(pendingLevel) > 0)
+            pendingLevel = level;
+
+        if (!isFlushScheduled) {
+            isFlushScheduled = true;
+            SwingUtilities.invokeLater(this::flush);
+        }
+    }
+
+    private void flush() {
+        isFlushScheduled = false;
+
+        if (pendingLines.isEmpty())
+            return;
+
+        if (queue.size() == MAX_QUEUED_BANNERS)
+            queue.removeFirst();
+
+        queue.addLast(new Banner(Collections.unmodifiableList(new ArrayList<>(pendingLines)), pendingLevel));
+        pendingLines.clear();
+        pendingLevel = null;
+
+        if (banner == null)
+            showNextBanner();
+    }
+
+    private void showNextBanner() {
+        repaint(bannerBounds);
+
+        banner = queue.pollFirst();
+
+        if (banner == null) {
+            bannerBounds.setBounds(0, 0, 0, 0);
+            displayTimer.stop();
+            return;
+        }
+
+        layoutBanner();
+        repaint(bannerBounds);
+
+        displayTimer.restart();
+    }
+
+    // Dismisses all the notifications (e.g. when a new round starts)
+    public void clear() {
+        queue.clear();
+        pendingLines.clear();
+        pendingLevel = null;
+
+        showNextBanner();
+    }
+
+    // The texts of the banner being shown, for the tests
+    public List<String> getVisibleLines() {
+        return banner != null ? banner.lines : Collections.emptyList();
+    }
+
+    private void layoutBanner() {
+        FontMetrics metrics = getFontMetrics(getFont());
+
+        int width = 0;
+        for (String line : banner.lines)
+            width = Math.max(width, metrics.stringWidth(line));
+
+        width += 2 * PADDING;
+        int height = banner.lines.size() * (metrics.getHeight() + LINE_SPACING) - LINE_SPACING + 2 * PADDING;
+
+        width = Math.min(width, Math.max(getWidth() - 2 * MARGIN, 0));
+        bannerBounds.setBounds((getWidth() - width) / 2, MARGIN, width, height);
+    }
+
+    @Override
+    public void setBounds(int x, int y, int width, int height) {
+        super.setBounds(x, y, width, height);
+
+        if (banner != null) {
+            layoutBanner();
+            repaint();
+        }
+    }
+
+    // The mouse passes through the layer everywhere but the banner
+    @Override
+    public boolean contains(int x, int y) {
+        return banner != null && bannerBounds.contains(x, y);
+    }
+
+    @Override
+    protected void paintComponent(Graphics graphics) {
+        if (banner == null || !graphics.getClipBounds(new Rectangle()).intersects(bannerBounds))
+            return;
+
+        Graphics2D g = (Graphics2D) graphics.create();
+
+        try {
+            g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+
+            g.setColor(banner.level.background);
+            g.fillRoundRect(bannerBounds.x, bannerBounds.y, bannerBounds.width, bannerBounds.height, ARC, ARC);
+
+            g.setColor(Color.WHITE);
+            g.setFont(getFont());
+            g.clipRect(bannerBounds.x, bannerBounds.y, bannerBounds.width, bannerBounds.height);
+
+            FontMetrics metrics = g.getFontMetrics();
+            int y = bannerBounds.y + PADDING + metrics.getAscent();
+
+            for (String line : banner.lines) {
+                int x = bannerBounds.x + (bannerBounds.width - metrics.stringWidth(line)) / 2;
+                g.drawString(line, Math.max(x, bannerBounds.x + PADDING), y);
+                y += metrics.getHeight() + LINE_SPACING;
+            }
+        }
+        finally {
+            g.dispose();
+        }
+    }
+}